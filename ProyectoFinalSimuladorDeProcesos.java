@@ -1,1063 +1,6200 @@
-import java.util.*;
-import java.util.concurrent.*;
-
-class PCB {
-    static int counter = 0;
-    int pid;
-    String estado;
-    int prioridad;
-    int tiempoEjecucion;
-    int tiempoOriginal;
-    int tiempoLlegada;
-    int tiempoFinalizacion;
-    int tiempoEspera;
-    int tiempoRetorno;
-    List<String> recursosAsignados = new ArrayList<>();
-    List<String> recursosEsperados = new ArrayList<>();
-    CausaTerminacion causaTerminacion;
-    Map<Integer, List<String>> mensajes = new HashMap<>();
-
-    // Constructor para inicializar un proceso con prioridad y tiempo de ejecución
-    public PCB(int prioridad, int tiempoEjecucion) {
-        this.pid = ++counter;
-        this.estado = "Listo";
-        this.prioridad = prioridad;
-        this.tiempoEjecucion = tiempoEjecucion;
-        this.tiempoOriginal = tiempoEjecucion;
-        this.tiempoLlegada = ProyectoFinalSimuladorDeProcesos.tiempoGlobal++;
-    }
-
-    // Método para enviar un mensaje a otro proceso
-    public void enviarMensaje(int pidDestino, String contenido) {
-        for (PCB p : ProyectoFinalSimuladorDeProcesos.planificador.listaProcesos) {
-            if (p.pid == pidDestino) {
-                if (!p.mensajes.containsKey(this.pid)) {
-                    p.mensajes.put(this.pid, new ArrayList<>());
-                }
-                p.mensajes.get(this.pid).add(contenido);
-                Log.registrar("COMUNICACIÓN", "PID " + this.pid + " → PID " + pidDestino + ": mensaje enviado");
-                return;
-            }
-        }
-        Log.registrar("ERROR", "No se envió mensaje: PID " + pidDestino + " no encontrado");
-    }
-
-    // Método para leer los mensajes recibidos por el proceso
-    public void leerMensajes() {
-        if (mensajes.isEmpty()) {
-            System.out.println("No hay mensajes para este proceso");
-            return;
-        }
-        
-        System.out.println("\n=== MENSAJES PARA PID " + pid + " ===");
-        for (Map.Entry<Integer, List<String>> entry : mensajes.entrySet()) {
-            System.out.println("De PID " + entry.getKey() + ":");
-            for (String msg : entry.getValue()) {
-                System.out.println("- " + msg);
-            }
-        }
-        mensajes.clear();
-    }
-}
-
-enum CausaTerminacion {
-    NORMAL("Ejecución completada"),
-    ERROR("Error durante ejecución"),
-    INTERBLOQUEO("Interbloqueo detectado"),
-    USUARIO("Terminado por usuario");
-    
-    private String descripcion;
-    
-    CausaTerminacion(String descripcion) {
-        this.descripcion = descripcion;
-    }
-    
-    @Override
-    public String toString() {
-        return descripcion;
-    }
-}
-
-class Log {
-    // Método para registrar eventos en el sistema
-    public static void registrar(String tipo, String mensaje) {
-        System.out.println("[" + tipo + "] " + mensaje);
-    }
-}
-
-class Recurso {
-    int memoriaDisponible = 4096;    
-    boolean cpuDisponible = true;
-    Map<Integer, List<String>> recursosEsperados = new HashMap<>();
-    Map<Integer, Integer> memoriaAsignadaPorProceso = new HashMap<>();
-
-    // Método para solicitar recursos para un proceso
-    public synchronized boolean solicitar(PCB p, int memoria) {
-        if (memoria <= memoriaDisponible && cpuDisponible) {
-            memoriaDisponible -= memoria;
-            cpuDisponible = false;
-            p.recursosAsignados.add("CPU");
-            p.recursosAsignados.add(memoria + "MB RAM");
-            memoriaAsignadaPorProceso.put(p.pid, memoria);
-            Log.registrar("RECURSO", "PID " + p.pid + " obtuvo CPU y " + memoria + "MB de RAM");
-            recursosEsperados.remove(p.pid);
-            p.recursosEsperados.clear();
-            mostrarCambioRecursos("Asignados a PID " + p.pid);
-            return true;
-        } else {
-            p.estado = "Bloqueado";
-            p.recursosEsperados.clear();
-            
-            List<String> recursos = new ArrayList<>();
-            if (memoria > memoriaDisponible) {
-                recursos.add(memoria + "MB RAM");
-                p.recursosEsperados.add(memoria + "MB RAM");
-            }
-            if (!cpuDisponible) {
-                recursos.add("CPU");
-                p.recursosEsperados.add("CPU");
-            }
-            recursosEsperados.put(p.pid, recursos);
-            
-            if (detectarInterbloqueo()) {
-                resolverInterbloqueo(p);
-            }
-            
-            Log.registrar("RECURSO", "PID " + p.pid + " bloqueado esperando recursos: " + 
-                     String.join(", ", recursos) + " (RAM disponible: " + 
-                     memoriaDisponible + "MB, CPU: " + (cpuDisponible ? "disponible" : "no disponible") + ")");
-            return false;
-        }
-    }
-
-    // Método para detectar interbloqueos en el sistema
-    private boolean detectarInterbloqueo() {
-        if (recursosEsperados.size() < 2) return false;
-        
-        int procesosCpuEsperados = 0;
-        for (Map.Entry<Integer, List<String>> entry : recursosEsperados.entrySet()) {
-            if (entry.getValue().contains("CPU")) {
-                procesosCpuEsperados++;
-            }
-        }
-        
-        if (procesosCpuEsperados >= 2 && !cpuDisponible) {
-            Log.registrar("SISTEMA", "¡INTERBLOQUEO DETECTADO! Múltiples procesos esperando CPU");
-            return true;
-        }
-        
-        return false;
-    }
-    
-    // Método para resolver interbloqueos terminando un proceso
-    private void resolverInterbloqueo(PCB procesoActual) {
-        procesoActual.estado = "Terminado";
-        procesoActual.causaTerminacion = CausaTerminacion.INTERBLOQUEO;
-        Log.registrar("INTERBLOQUEO", "PID " + procesoActual.pid + " terminado para resolver interbloqueo");
-        recursosEsperados.remove(procesoActual.pid);
-        procesoActual.recursosEsperados.clear();
-    }
-
-    // Método para liberar recursos asignados a un proceso
-    public synchronized void liberar(PCB p) {
-        boolean cpuLiberada = false;
-        
-        if (p.recursosAsignados.isEmpty()) {
-            Log.registrar("RECURSO", "PID " + p.pid + " no tenía recursos asignados");
-            return;
-        }
-        
-        if (memoriaAsignadaPorProceso.containsKey(p.pid)) {
-            int memoriaAsignada = memoriaAsignadaPorProceso.get(p.pid);
-            memoriaDisponible += memoriaAsignada;
-            Log.registrar("RECURSO", "PID " + p.pid + " liberó " + memoriaAsignada + "MB de RAM");
-            memoriaAsignadaPorProceso.remove(p.pid);
-        }
-        
-        for (String r : p.recursosAsignados) {
-            if (r.equals("CPU")) {
-                cpuDisponible = true;
-                cpuLiberada = true;
-                Log.registrar("RECURSO", "PID " + p.pid + " liberó CPU");
-                break;
-            }
-        }
-        
-        if (!cpuLiberada) {
-            Log.registrar("RECURSO", "PID " + p.pid + " no tenía la CPU asignada");
-        }
-        
-        p.recursosAsignados.clear();
-        mostrarCambioRecursos("Liberados por PID " + p.pid);
-        
-        desbloquearProcesos();
-    }
-    
-    // Método para desbloquear procesos que estaban esperando recursos
-    private void desbloquearProcesos() {
-        List<Integer> procesosDesbloqueados = new ArrayList<>();
-        
-        for (Map.Entry<Integer, List<String>> entry : recursosEsperados.entrySet()) {
-            int pid = entry.getKey();
-            List<String> recursosNecesitados = entry.getValue();
-            
-            boolean puedeDesbloquear = true;
-            int memoriaRequerida = 0;
-            boolean requiereCPU = false;
-            
-            for (String recurso : recursosNecesitados) {
-                if (recurso.contains("MB RAM")) {
-                    memoriaRequerida = Integer.parseInt(recurso.split("MB")[0]);
-                }
-                if (recurso.equals("CPU")) {
-                    requiereCPU = true;
-                }
-            }
-            
-            if (requiereCPU && !cpuDisponible) {
-                puedeDesbloquear = false;
-            }
-            if (memoriaRequerida > memoriaDisponible) {
-                puedeDesbloquear = false;
-            }
-            
-            if (puedeDesbloquear) {
-                procesosDesbloqueados.add(pid);
-                for (PCB p : ProyectoFinalSimuladorDeProcesos.planificador.listaProcesos) {
-                    if (p.pid == pid && p.estado.equals("Bloqueado")) {
-                        p.estado = "Listo";
-                        p.recursosEsperados.clear();
-                        Log.registrar("RECURSO", "PID " + pid + " desbloqueado, recursos disponibles");
-                        break;
-                    }
-                }
-            }
-        }
-        
-        for (Integer pid : procesosDesbloqueados) {
-            recursosEsperados.remove(pid);
-        }
-    }
-    
-    // Método para mostrar el estado de los recursos
-    private void mostrarCambioRecursos(String motivo) {
-        System.out.println("\n--- ACTUALIZACIÓN DE RECURSOS (" + motivo + ") ---");
-        System.out.println("Memoria disponible: " + memoriaDisponible + "MB");
-        System.out.println("CPU disponible: " + (cpuDisponible ? "Sí" : "No"));
-        System.out.println("---------------------------------------");
-    }
-    
-    @Override
-    public String toString() {
-        return "Memoria disponible: " + memoriaDisponible + "MB, CPU disponible: " + cpuDisponible;
-    }
-}
-
-class Planificador {
-    Queue<PCB> colaFCFS = new LinkedList<>();
-    PriorityQueue<PCB> colaPrioridad = new PriorityQueue<>(Comparator.comparingInt(p -> p.prioridad));
-    PriorityQueue<PCB> colaSJF = new PriorityQueue<>(Comparator.comparingInt(p -> p.tiempoEjecucion));
-    Queue<PCB> colaRR = new LinkedList<>();
-    List<PCB> listaProcesos = new ArrayList<>();
-    String algoritmo;
-    int quantum;
-
-    // Constructor para inicializar el planificador con un algoritmo y quantum
-    public Planificador(String algoritmo, int quantum) {
-        this.algoritmo = algoritmo;
-        this.quantum = quantum;
-        Log.registrar("PLANIFICADOR", "Inicializado con algoritmo: " + algoritmo + 
-                     (algoritmo.equals("RoundRobin") ? " (quantum: " + quantum + " unidades)" : ""));
-    }
-
-    // Método para agregar un proceso a la cola correspondiente
-    public void agregarProceso(PCB p) {
-        listaProcesos.add(p);
-        switch (algoritmo) {
-            case "FCFS": colaFCFS.offer(p); break;
-            case "Prioridad": colaPrioridad.offer(p); break;
-            case "RoundRobin": colaRR.offer(p); break;
-            case "SJF": colaSJF.offer(p); break;
-        }
-        Log.registrar("PLANIFICADOR", "Proceso " + p.pid + " agregado a cola de " + algoritmo);
-    }
-
-    // Método para obtener el siguiente proceso según el algoritmo
-    public PCB obtenerSiguienteProceso() {
-        PCB p = null;
-        switch (algoritmo) {
-            case "FCFS": p = colaFCFS.poll(); break;
-            case "Prioridad": p = colaPrioridad.poll(); break;
-            case "SJF": p = colaSJF.poll(); break;
-            case "RoundRobin": 
-                p = colaRR.poll(); 
-                if (p != null && p.estado.equals("Listo")) {
-                    colaRR.offer(p); 
-                }
-                break;
-        }
-        if (p != null) {
-            Log.registrar("PLANIFICADOR", "Proceso " + p.pid + " seleccionado para ejecución");
-        }
-        return p;
-    }
-
-    // Método para mostrar la lista de procesos en el sistema
-    public void mostrarProcesos() {
-        System.out.println("\n┌" + "─".repeat(100) + "┐");
-        System.out.println("│" + String.format("%-98s", " LISTA DE PROCESOS") + "  │");
-        System.out.println("├" + "─".repeat(100) + "┤");
-        
-        System.out.println("│ " + String.format("%-98s", " Algoritmo de planificación: " + algoritmo + 
-            (algoritmo.equals("RoundRobin") ? " (Quantum: " + quantum + " unidades)" : "")));
-        
-        switch (algoritmo) {
-            case "FCFS":
-                System.out.println("│ " + String.format("%-98s", " Descripción: First Come First Served - Procesos atendidos en orden de llegada"));
-                break;
-            case "SJF":
-                System.out.println("│ " + String.format("%-98s", " Descripción: Shortest Job First - Prioriza procesos con menor tiempo de ejecución"));
-                break;
-            case "RoundRobin":
-                System.out.println("│ " + String.format("%-98s", " Descripción: Round Robin - Asigna tiempo equitativo por turnos (quantum: " + quantum + ")"));
-                break;
-            case "Prioridad":
-                System.out.println("│ " + String.format("%-98s", " Descripción: Prioridad - Procesos ordenados por valor de prioridad (menor número = mayor prioridad)"));
-                break;
-        }
-        
-        if (listaProcesos.isEmpty()) {
-            System.out.println("│" + String.format("%-98s", " No hay procesos en el sistema"));
-            System.out.println("└" + "─".repeat(100) + "┘");
-            return;
-        }
-        
-        System.out.println("├" + "─".repeat(100) + "┤");
-        System.out.println("│ " + String.format("%-5s %-12s %-9s %-8s %-16s %-15s %-28s", 
-                         "PID", "Estado", "Prioridad", "Tiempo", "Recursos", "Terminación", "Marcos de memoria"));
-        System.out.println("├" + "─".repeat(100) + "┤");
-        
-        Map<Integer, List<Integer>> marcosPorProceso = new HashMap<>();
-        int marcoDisponible = 0;
-        
-        for (PCB p : listaProcesos) {
-            if (!p.estado.equals("Terminado") && !marcosPorProceso.containsKey(p.pid)) {
-                int numMarcos = (p.estado.equals("Ejecutando")) ? 4 : 2;
-                List<Integer> marcos = new ArrayList<>();
-                for (int i = 0; i < numMarcos; i++) {
-                    marcos.add(marcoDisponible++);
-                }
-                marcosPorProceso.put(p.pid, marcos);
-            }
-            
-            String recursos = p.recursosAsignados.isEmpty() ? "Ninguno" : String.join(", ", p.recursosAsignados);
-            if (recursos.length() > 15) recursos = recursos.substring(0, 12) + "...";
-            
-            if (p.estado.equals("Bloqueado") && !p.recursosEsperados.isEmpty()) {
-                String esperando = String.join(", ", p.recursosEsperados);
-                if (esperando.length() > 12) esperando = esperando.substring(0, 9) + "...";
-                recursos = "Espera: " + esperando;
-            }
-            
-            String marcosInfo = "N/A";
-            if (marcosPorProceso.containsKey(p.pid)) {
-                List<Integer> marcos = marcosPorProceso.get(p.pid);
-                marcosInfo = "Marcos: " + marcos.toString().replace("[", "").replace("]", "");
-                if (marcosInfo.length() > 27) marcosInfo = marcosInfo.substring(0, 24) + "...";
-            }
-            
-            System.out.println("│ " + String.format("%-5d %-12s %-9d %-8d %-16s %-15s %-28s", 
-                             p.pid, p.estado, p.prioridad, p.tiempoEjecucion, 
-                             recursos,
-                             p.causaTerminacion != null ? p.causaTerminacion : "",
-                             marcosInfo));
-            
-            if (!p.mensajes.isEmpty()) {
-                int totalMensajes = p.mensajes.values().stream().mapToInt(List::size).sum();
-                System.out.println("│ " + String.format("%-98s", "   └─ Mensajes pendientes: " + totalMensajes));
-            }
-            
-            if (p.estado.equals("Ejecutando")) {
-                System.out.println("│ " + String.format("%-98s", "   └─ Detalles PCB: ID=" + p.pid + 
-                    " Prioridad=" + p.prioridad + " EstadoActual=" + p.estado +
-                    " TiempoRestante=" + p.tiempoEjecucion));
-            }
-        }
-        
-        System.out.println("├" + "─".repeat(100) + "┤");
-        System.out.println("│ " + String.format("%-98s", " RESUMEN DE MEMORIA"));
-        
-        int procesosActivos = (int) listaProcesos.stream()
-            .filter(p -> !p.estado.equals("Terminado"))
-            .count();
-            
-        int totalMarcos = marcosPorProceso.values().stream()
-            .mapToInt(List::size)
-            .sum();
-            
-        System.out.println("│ " + String.format("%-98s", " Total marcos asignados: " + totalMarcos + 
-            " | Procesos activos: " + procesosActivos));
-        System.out.println("│ " + String.format("%-98s", " Memoria física utilizada: " + 
-            (totalMarcos * 4) + "MB de " + ProyectoFinalSimuladorDeProcesos.recurso.memoriaDisponible + "MB"));
-        
-        System.out.println("└" + "─".repeat(100) + "┘");
-    }
-
-    // Método para mostrar el estado de las colas de planificación
-    public void mostrarEstadoColas() {
-        System.out.println("\n┌" + "─".repeat(60) + "┐");
-        System.out.println("│" + String.format("%-58s", " ESTADO DE LAS COLAS") + "  │");
-        System.out.println("├" + "─".repeat(60) + "┤");
-        
-        System.out.println("│ Algoritmo: " + String.format("%-46s", algoritmo + 
-                          (algoritmo.equals("RoundRobin") ? " (quantum: " + quantum + " unidades)" : "")) + "  │");
-        
-        Queue<PCB> colaActiva = null;
-        switch (algoritmo) {
-            case "FCFS": colaActiva = colaFCFS; break;
-            case "Prioridad": colaActiva = colaPrioridad; break;
-            case "SJF": colaActiva = colaSJF; break;
-            case "RoundRobin": colaActiva = colaRR; break;
-        }
-        
-        System.out.println("│" + String.format("%-58s", " Procesos en cola: " + (colaActiva.isEmpty() ? "Vacía" : "")) + "  │");
-        
-        if (colaActiva.isEmpty()) {
-            System.out.println("└" + "─".repeat(60) + "┘");
-            return;
-        }
-        
-        System.out.println("├" + "─".repeat(60) + "┤");
-        System.out.println("│ " + String.format("%-3s %-6s %-11s %-10s %-22s", 
-                         "Pos", "PID", "Prioridad", "Tiempo", "Estado") + "│");
-        System.out.println("├" + "─".repeat(60) + "┤");
-        
-        int pos = 1;
-        for (PCB p : colaActiva) {
-            System.out.println("│ " + String.format("%-3d %-6d %-11d %-10d %-22s", 
-                             pos++, p.pid, p.prioridad, p.tiempoEjecucion, p.estado) + "│");
-        }
-        System.out.println("└" + "─".repeat(60) + "┘");
-    }
-    
-    // Método para actualizar las colas de planificación
-    public void actualizarColas() {
-        switch (algoritmo) {
-            case "FCFS":
-                colaFCFS.clear();
-                for (PCB p : listaProcesos) {
-                    if (p.estado.equals("Listo")) {
-                        colaFCFS.offer(p);
-                    }
-                }
-                break;
-            case "Prioridad":
-                colaPrioridad.clear();
-                for (PCB p : listaProcesos) {
-                    if (p.estado.equals("Listo")) {
-                        colaPrioridad.offer(p);
-                    }
-                }
-                break;
-            case "SJF":
-                colaSJF.clear();
-                for (PCB p : listaProcesos) {
-                    if (p.estado.equals("Listo")) {
-                        colaSJF.offer(p);
-                    }
-                }
-                break;
-            case "RoundRobin":
-                colaRR.clear();
-                for (PCB p : listaProcesos) {
-                    if (p.estado.equals("Listo")) {
-                        colaRR.offer(p);
-                    }
-                }
-                break;
-        }
-    }
-}
-
-class Buffer {
-    Queue<Integer> buffer = new LinkedList<>();
-    int capacidad = 5;
-    Semaphore lleno = new Semaphore(0);
-    Semaphore vacio = new Semaphore(5);
-    Semaphore mutex = new Semaphore(1);
-
-    // Método para producir un elemento en el buffer
-    public void producir(int item) throws InterruptedException {
-        vacio.acquire();
-        mutex.acquire();
-        buffer.offer(item);
-        Log.registrar("PRODUCTOR", "Producido: " + item + " (buffer: " + buffer.size() + "/" + capacidad + ")");
-        mutex.release();
-        lleno.release();
-    }
-
-    // Método para consumir un elemento del buffer
-    public void consumir() throws InterruptedException {
-        lleno.acquire();
-        mutex.acquire();
-        int item = buffer.poll();
-        Log.registrar("CONSUMIDOR", "Consumido: " + item + " (buffer: " + buffer.size() + "/" + capacidad + ")");
-        mutex.release();
-        vacio.release();
-    }
-}
-
-public class ProyectoFinalSimuladorDeProcesos {
-    static Scanner sc = new Scanner(System.in);
-    static Recurso recurso = new Recurso();
-    static Planificador planificador;
-    static int tiempoGlobal = 0;
-    static final String[] MENSAJES_PREDEFINIDOS = {
-        "Solicitar recurso",
-        "Liberar recurso",
-        "Prioridad aumentada",
-        "Prioridad disminuida",
-        "Ejecutar tarea de I/O",
-        "Terminar ejecución"
-    };
-
-    // Método principal para iniciar el simulador
-    public static void main(String[] args) {
-        System.out.println("====== SIMULADOR DE GESTOR DE PROCESOS ======");
-        System.out.println("\nSeleccione un algoritmo de planificación:");
-        System.out.println("1. FCFS (First Come First Served)");
-        System.out.println("2. SJF (Shortest Job First)");
-        System.out.println("3. Round Robin");
-        System.out.println("4. Prioridad");
-        
-        int opcion = leerEnteroConRango("Seleccione una opción: ", 1, 4);
-        String algoritmo = "";
-        int quantum = 2; 
-        
-        switch (opcion) {
-            case 1: algoritmo = "FCFS"; break;
-            case 2: algoritmo = "SJF"; break;
-            case 3: 
-                algoritmo = "RoundRobin"; 
-                quantum = leerEnteroConRango("Quantum para Round Robin (en unidades): ", 1, 10);
-                break;
-            case 4: algoritmo = "Prioridad"; break;
-        }
-        
-        planificador = new Planificador(algoritmo, quantum);
-        Log.registrar("SISTEMA", "Simulador iniciado con algoritmo " + algoritmo);
-        
-        System.out.println("\n====== MODO DE EJECUCIÓN ======");
-        System.out.println("1. Modo Manual (Ir al menú principal)");
-        System.out.println("2. Modo Automático (Generar simulación con datos aleatorios)");
-        
-        int modoEjecucion = leerEnteroConRango("Seleccione modo de ejecución: ", 1, 2);
-        
-        if (modoEjecucion == 1) {
-            mostrarMenuPrincipal();
-        } else {
-            ejecutarSimulacionAutomatica();
-        }
-    }
-
-    // Método para mostrar el menú principal
-    static void mostrarMenuPrincipal() {
-        while (true) {
-            System.out.println("\n====== MENÚ PRINCIPAL ======");
-            System.out.println("1. Crear Proceso");
-            System.out.println("2. Listar Procesos");
-            System.out.println("3. Estado de Recursos");
-            System.out.println("4. Estado de Colas de Planificación");
-            System.out.println("5. Ejecutar Proceso");
-            System.out.println("6. Suspender/Continuar Proceso");
-            System.out.println("7. Terminar Proceso");
-            System.out.println("8. Enviar mensaje entre procesos");
-            System.out.println("9. Leer mensajes de un proceso");
-            System.out.println("10. Demostración Productor-Consumidor");
-            System.out.println("11. Mostrar Procesos Bloqueados");
-            System.out.println("12. Salir");
-            
-            int op = leerEnteroConRango("Seleccione una opción: ", 1, 12);
-            switch (op) {
-                case 1: crearProceso(); break;
-                case 2: planificador.mostrarProcesos(); break;
-                case 3: mostrarEstadoRecursos(); break;
-                case 4: planificador.mostrarEstadoColas(); break;
-                case 5: ejecutarProceso(); break;
-                case 6: suspenderContinuar(); break;
-                case 7: terminarProceso(); break;
-                case 8: enviarMensaje(); break;
-                case 9: leerMensajes(); break;
-                case 10: ejecutarProdCons(); break;
-                case 11: mostrarProcesosBloqueados(); break;
-                case 12: 
-                    Log.registrar("SISTEMA", "Finalizando simulador");
-                    return;
-            }
-            
-            planificador.actualizarColas();
-        }
-    }
-
-    // Método para ejecutar una simulación automática
-    static void ejecutarSimulacionAutomatica() {
-        System.out.println("\n====== SIMULACIÓN AUTOMÁTICA ======");
-        Log.registrar("SISTEMA", "Iniciando simulación automática con algoritmo " + planificador.algoritmo);
-        
-        Random random = new Random();
-        int numProcesos = random.nextInt(11) + 5;
-        
-        System.out.println("\n=== Generando " + numProcesos + " procesos aleatorios ===");
-        
-        for (int i = 0; i < numProcesos; i++) {
-            int prioridad = random.nextInt(10) + 1;
-            int tiempoEjecucion = random.nextInt(20) + 1;
-            PCB p = new PCB(prioridad, tiempoEjecucion);
-            planificador.agregarProceso(p);
-            
-            if (random.nextBoolean()) {
-                int memoriaRequerida = random.nextInt(1000) + 100;
-                if (!recurso.solicitar(p, memoriaRequerida)) {
-                    Log.registrar("RECURSO", "No se pudieron asignar recursos al PID " + p.pid);
-                }
-            }
-            
-            Log.registrar("PROCESO", "Proceso creado: PID " + p.pid + 
-                         ", Prioridad " + p.prioridad + 
-                         ", Tiempo " + p.tiempoEjecucion);
-        }
-        
-        System.out.println("\n=== Estado inicial de procesos ===");
-        planificador.mostrarProcesos();
-        
-        System.out.println("\n=== Estado inicial de recursos ===");
-        mostrarEstadoRecursos();
-        
-        System.out.println("\n=== Estado inicial de colas ===");
-        planificador.mostrarEstadoColas();
-        
-        System.out.println("\n=== Enviando mensajes aleatorios entre procesos ===");
-        int numMensajes = random.nextInt(5) + 2;
-        for (int i = 0; i < numMensajes; i++) {
-            if (planificador.listaProcesos.size() >= 2) {
-                int indiceOrigen = random.nextInt(planificador.listaProcesos.size());
-                int indiceDestino = random.nextInt(planificador.listaProcesos.size());
-                
-                while (indiceOrigen == indiceDestino) {
-                    indiceDestino = random.nextInt(planificador.listaProcesos.size());
-                }
-                
-                PCB origen = planificador.listaProcesos.get(indiceOrigen);
-                PCB destino = planificador.listaProcesos.get(indiceDestino);
-                
-                String mensaje = MENSAJES_PREDEFINIDOS[random.nextInt(MENSAJES_PREDEFINIDOS.length)];
-                origen.enviarMensaje(destino.pid, mensaje);
-            }
-        }
-        
-        if (random.nextBoolean()) {
-            System.out.println("\n=== Simulando situación de interbloqueo ===");
-            simularInterbloqueo();
-        }
-        
-        System.out.println("\n=== Ejecutando procesos con algoritmo " + planificador.algoritmo + " ===");
-        ejecutarProceso();
-        
-        System.out.println("\n=== Estado final de procesos ===");
-        planificador.mostrarProcesos();
-        
-        System.out.println("\n=== Estado final de recursos ===");
-        mostrarEstadoRecursos();
-        
-        System.out.println("\n====== FIN DE LA SIMULACIÓN AUTOMÁTICA ======");
-        System.out.println("\nPresione Enter para salir...");
-        sc.nextLine();
-        Log.registrar("SISTEMA", "Finalizando simulador");
-    }
-
-    // Método para simular una situación de interbloqueo
-    static void simularInterbloqueo() {
-        PCB p1 = new PCB(1, 10);
-        PCB p2 = new PCB(2, 15);
-        
-        planificador.agregarProceso(p1);
-        planificador.agregarProceso(p2);
-        
-        if (recurso.solicitar(p1, 200)) {
-            Log.registrar("INTERBLOQUEO", "PID " + p1.pid + " obtuvo CPU y memoria");
-            
-            if (!recurso.solicitar(p2, 300)) {
-                Log.registrar("INTERBLOQUEO", "PID " + p2.pid + " bloqueado esperando CPU");
-            }
-            
-            recurso.liberar(p1);
-        }
-    }
-
-    // Método para leer un entero dentro de un rango específico
-    static int leerEnteroConRango(String mensaje, int min, int max) {
-        while (true) {
-            System.out.print(mensaje);
-            try {
-                int valor = sc.nextInt(); sc.nextLine();
-                if (valor >= min && valor <= max) {
-                    return valor;
-                } else {
-                    System.out.println("Por favor ingresa un valor entre " + min + " y " + max);
-                }
-            } catch (InputMismatchException e) {
-                System.out.println("Por favor ingresa un número válido");
-                sc.nextLine();
-            }
-        }
-    }
-
-    // Método para crear un nuevo proceso
-    static void crearProceso() {
-        int prioridad = leerEnteroConRango("Prioridad (1-10, siendo 1 la más alta): ", 1, 10);
-        int tiempo = leerEnteroConRango("Tiempo de ejecución (unidades): ", 1, 60);
-        PCB p = new PCB(prioridad, tiempo);
-        planificador.agregarProceso(p);
-        Log.registrar("PROCESO", "Proceso creado: PID " + p.pid + ", Prioridad " + p.prioridad + ", Tiempo " + p.tiempoEjecucion);
-    }
-
-    // Método para ejecutar procesos según el algoritmo de planificación
-    static void ejecutarProceso() {
-        List<PCB> procesosFinalizados = new ArrayList<>();
-        List<PCB> procesosListos = new ArrayList<>();
-        
-        for (PCB p : planificador.listaProcesos) {
-            if (p.estado.equals("Listo")) {
-                procesosListos.add(p);
-            }
-        }
-        
-        if (procesosListos.isEmpty()) {
-            Log.registrar("ERROR", "No hay procesos disponibles para ejecutar");
-            return;
-        }
-        
-        int tiempoInicio = tiempoGlobal;
-        
-        switch (planificador.algoritmo) {
-            case "FCFS":
-                procesosListos.sort(Comparator.comparingInt(p -> p.tiempoLlegada));
-                break;
-            case "SJF":
-                procesosListos.sort(Comparator.comparingInt(p -> p.tiempoEjecucion));
-                break;
-            case "Prioridad":
-                procesosListos.sort(Comparator.comparingInt(p -> p.prioridad));
-                break;
-            case "RoundRobin":
-                Queue<PCB> colaTemp = new LinkedList<>();
-                for (PCB p : procesosListos) {
-                    colaTemp.offer(p);
-                }
-                procesosListos.clear();
-                
-                int ciclosRR = 0;
-                while (!colaTemp.isEmpty() && ciclosRR < 100) {
-                    PCB p = colaTemp.poll();
-                    
-                    int tiempoEjecucion = Math.min(p.tiempoEjecucion, planificador.quantum);
-                    
-                    for (PCB esperando : colaTemp) {
-                        esperando.tiempoEspera += tiempoEjecucion;
-                    }
-                    
-                    tiempoGlobal += tiempoEjecucion;
-                    p.tiempoEjecucion -= tiempoEjecucion;
-                    
-                    if (p.tiempoEjecucion <= 0) {
-                        p.tiempoFinalizacion = tiempoGlobal;
-                        p.tiempoRetorno = p.tiempoFinalizacion - p.tiempoLlegada;
-                        p.estado = "Terminado";
-                        p.causaTerminacion = CausaTerminacion.NORMAL;
-                        procesosFinalizados.add(p);
-                    } else {
-                        colaTemp.offer(p);
-                    }
-                    
-                    ciclosRR++;
-                }
-                
-                break;
-        }
-        
-        if (!planificador.algoritmo.equals("RoundRobin")) {
-            for (PCB p : procesosListos) {
-                p.tiempoEspera = tiempoInicio - p.tiempoLlegada;
-                
-                tiempoGlobal += p.tiempoEjecucion;
-                
-                p.tiempoFinalizacion = tiempoGlobal;
-                p.tiempoRetorno = p.tiempoFinalizacion - p.tiempoLlegada;
-                
-                p.estado = "Terminado";
-                p.causaTerminacion = CausaTerminacion.NORMAL;
-                
-                procesosFinalizados.add(p);
-                
-                for (PCB espera : procesosListos) {
-                    if (espera.pid != p.pid && !espera.estado.equals("Terminado")) {
-                        espera.tiempoEspera += p.tiempoEjecucion;
-                    }
-                }
-            }
-        }
-        
-        System.out.println("\n┌" + "─".repeat(105) + "┐");
-        System.out.println("│" + String.format("%-103s", " RESULTADOS DE EJECUCIÓN - ALGORITMO: " + planificador.algoritmo) + "  │");
-        System.out.println("├" + "─".repeat(105) + "┤");
-        
-        System.out.println("│ " + String.format("%-6s %-10s %-10s %-10s %-20s %-20s %-21s", 
-                "PID", "Llegada", "Ciclos", "Prioridad", "Tiempo Finalización", "Tiempo Espera", "Tiempo Retorno") + "│");
-        System.out.println("├" + "─".repeat(105) + "┤");
-        
-        int totalEspera = 0;
-        int totalRetorno = 0;
-        
-        for (PCB p : procesosFinalizados) {
-            System.out.println("│ " + String.format("%-6d %-10d %-10d %-10d %-20d %-20d %-21d", 
-                    p.pid, p.tiempoLlegada, p.tiempoOriginal, p.prioridad, 
-                    p.tiempoFinalizacion, p.tiempoEspera, p.tiempoRetorno) + "│");
-                    
-            totalEspera += p.tiempoEspera;
-            totalRetorno += p.tiempoRetorno;
-        }
-        
-        System.out.println("├" + "─".repeat(105) + "┤");
-        
-        double promedioEspera = procesosFinalizados.isEmpty() ? 0 : (double) totalEspera / procesosFinalizados.size();
-        double promedioRetorno = procesosFinalizados.isEmpty() ? 0 : (double) totalRetorno / procesosFinalizados.size();
-        
-        System.out.println("│ " + String.format("%-103s", " RESUMEN DE TIEMPOS") + "  │");
-        System.out.println("│ " + String.format("%-103s", " Tiempo de espera promedio: " + String.format("%.2f", promedioEspera) + " unidades") + "  │");
-        System.out.println("│ " + String.format("%-103s", " Tiempo de retorno promedio: " + String.format("%.2f", promedioRetorno) + " unidades") + "  │");
-        System.out.println("└" + "─".repeat(105) + "┘");
-        
-        Log.registrar("PLANIFICADOR", "Ejecución completada para " + procesosFinalizados.size() + " procesos con algoritmo " + planificador.algoritmo);
-    }
-
-    // Método para suspender o continuar un proceso
-    static void suspenderContinuar() {
-        int pid = leerEnteroConRango("PID a suspender/reanudar: ", 1, Integer.MAX_VALUE);
-        for (PCB p : planificador.listaProcesos) {
-            if (p.pid == pid) {
-                if (p.estado.equals("Listo")) {
-                    p.estado = "Suspendido";
-                    Log.registrar("PROCESO", "Proceso " + p.pid + " suspendido");
-                } else if (p.estado.equals("Suspendido")) {
-                    p.estado = "Listo";
-                    Log.registrar("PROCESO", "Proceso " + p.pid + " reanudado");
-                } else if (p.estado.equals("Bloqueado")) {
-                    Log.registrar("ERROR", "No se puede suspender un proceso bloqueado");
-                } else {
-                    Log.registrar("ERROR", "No se puede suspender/reanudar proceso en estado: " + p.estado);
-                }
-                return;
-            }
-        }
-        Log.registrar("ERROR", "PID " + pid + " no encontrado");
-    }
-
-    // Método para terminar un proceso
-    static void terminarProceso() {
-        int pid = leerEnteroConRango("PID a terminar: ", 1, Integer.MAX_VALUE);
-        for (PCB p : planificador.listaProcesos) {
-            if (p.pid == pid) {
-                recurso.liberar(p);
-                p.estado = "Terminado";
-                p.causaTerminacion = CausaTerminacion.USUARIO;
-                Log.registrar("PROCESO", "Proceso " + p.pid + " terminado por usuario");
-                return;
-            }
-        }
-        Log.registrar("ERROR", "PID " + pid + " no encontrado");
-    }
-
-    // Método para mostrar el estado de los recursos
-    static void mostrarEstadoRecursos() {
-        System.out.println("\n┌" + "─".repeat(70) + "┐");
-        System.out.println("│" + String.format("%-68s", " ESTADO DE RECURSOS") + "  │");
-        System.out.println("├" + "─".repeat(70) + "┤");
-        System.out.println("│ Memoria disponible: " + String.format("%-27d", recurso.memoriaDisponible) + "MB│");
-        System.out.println("│ CPU disponible:     " + String.format("%-27s", recurso.cpuDisponible ? "Sí" : "No") + "  │");
-        
-        if (!recurso.memoriaAsignadaPorProceso.isEmpty()) {
-            System.out.println("├" + "─".repeat(70) + "┤");
-            System.out.println("│ " + String.format("%-68s", " MEMORIA ASIGNADA A PROCESOS:") + "  │");
-            for (Map.Entry<Integer, Integer> entry : recurso.memoriaAsignadaPorProceso.entrySet()) {
-                System.out.println("│ " + String.format("%-68s", " PID " + entry.getKey() + ": " + entry.getValue() + "MB") + "  │");
-            }
-        }
-        
-        if (!recurso.recursosEsperados.isEmpty()) {
-            System.out.println("├" + "─".repeat(70) + "┤");
-            System.out.println("│ " + String.format("%-68s", " PROCESOS ESPERANDO RECURSOS:") + "  │");
-            
-            for (Map.Entry<Integer, List<String>> entry : recurso.recursosEsperados.entrySet()) {
-                String recursos = String.join(", ", entry.getValue());
-                if (recursos.length() > 50) recursos = recursos.substring(0, 47) + "...";
-                System.out.println("│ " + String.format("%-68s", " PID " + entry.getKey() + ": " + recursos) + "  │");
-            }
-        }
-        
-        System.out.println("└" + "─".repeat(70) + "┘");
-    }
-    
-    // Método para mostrar los procesos bloqueados
-    static void mostrarProcesosBloqueados() {
-        System.out.println("\n┌" + "─".repeat(70) + "┐");
-        System.out.println("│" + String.format("%-68s", " PROCESOS BLOQUEADOS") + "  │");
-        System.out.println("├" + "─".repeat(70) + "┤");
-        
-        boolean hayBloqueados = false;
-        for (PCB p : planificador.listaProcesos) {
-            if (p.estado.equals("Bloqueado")) {
-                hayBloqueados = true;
-                String recursosEsperados = String.join(", ", p.recursosEsperados);
-                if (recursosEsperados.length() > 50) recursosEsperados = recursosEsperados.substring(0, 47) + "...";
-                System.out.println("│ " + String.format("%-68s", " PID " + p.pid + ": esperando " + recursosEsperados) + "  │");
-            }
-        }
-        
-        if (!hayBloqueados) {
-            System.out.println("│" + String.format("%-68s", " No hay procesos bloqueados") + "  │");
-        }
-        System.out.println("└" + "─".repeat(70) + "┘");
-    }
-
-    // Método para enviar un mensaje entre procesos
-    static void enviarMensaje() {
-        int pidOrigen = leerEnteroConRango("PID del proceso remitente: ", 1, Integer.MAX_VALUE);
-        int pidDestino = leerEnteroConRango("PID del proceso destinatario: ", 1, Integer.MAX_VALUE);
-        
-        System.out.println("\nSeleccione un mensaje o escriba uno personalizado:");
-        System.out.println("0. Mensaje personalizado");
-        for (int i = 0; i < MENSAJES_PREDEFINIDOS.length; i++) {
-            System.out.println((i+1) + ". " + MENSAJES_PREDEFINIDOS[i]);
-        }
-        
-        int opMensaje = leerEnteroConRango("Opción: ", 0, MENSAJES_PREDEFINIDOS.length);
-        String mensaje;
-        
-        if (opMensaje == 0) {
-            System.out.print("Escriba su mensaje: ");
-            mensaje = sc.nextLine();
-        } else {
-            mensaje = MENSAJES_PREDEFINIDOS[opMensaje-1];
-        }
-        
-        PCB origen = null;
-        for (PCB p : planificador.listaProcesos) {
-            if (p.pid == pidOrigen) {
-                origen = p;
-                break;
-            }
-        }
-        
-        if (origen != null) {
-            origen.enviarMensaje(pidDestino, mensaje);
-        } else {
-            Log.registrar("ERROR", "PID de origen " + pidOrigen + " no encontrado");
-        }
-    }
-
-    // Método para leer los mensajes de un proceso
-    static void leerMensajes() {
-        int pid = leerEnteroConRango("PID del proceso para leer mensajes: ", 1, Integer.MAX_VALUE);
-        
-        for (PCB p : planificador.listaProcesos) {
-            if (p.pid == pid) {
-                p.leerMensajes();
-                return;
-            }
-        }
-        Log.registrar("ERROR", "PID " + pid + " no encontrado");
-    }
-
-    // Método para ejecutar la demostración del problema productor-consumidor
-    static void ejecutarProdCons() {
-        Buffer buffer = new Buffer();
-        Log.registrar("DEMO", "Iniciando demostración Productor-Consumidor");
-
-        System.out.println("\n¿Cómo quieres generar los valores para el productor?");
-        System.out.println("1. Asignar manualmente");
-        System.out.println("2. Generar aleatoriamente (1-10)");
-
-        int opcion = leerEnteroConRango("Seleccione una opción: ", 1, 2);
-
-        Thread productorThread;
-        Thread consumidorThread;
-
-        if (opcion == 1) {
-            productorThread = new Thread(() -> {
-                try {
-                    for (int i = 1; i <= 10; i++) {
-                        System.out.print("Hilo Productor: ");
-                        int valor = leerEnteroConRango("Ingrese valor #" + i + " para producir (1-10): ", 1, 10);
-                        buffer.producir(valor);
-                        Thread.sleep(250);
-                    }
-                    Log.registrar("DEMO", "Productor completado");
-                } catch (InterruptedException e) {
-                    Log.registrar("ERROR", "Productor interrumpido: " + e.getMessage());
-                    Thread.currentThread().interrupt();
-                } catch (Exception e) {
-                    Log.registrar("ERROR", "Error en productor: " + e.getMessage());
-                }
-            });
-        } else {
-            productorThread = new Thread(() -> {
-                try {
-                    Random random = new Random();
-                    for (int i = 1; i <= 10; i++) {
-                        int valor = random.nextInt(10) + 1;
-                        buffer.producir(valor);
-                        Thread.sleep(250);
-                    }
-                    Log.registrar("DEMO", "Productor completado");
-                } catch (InterruptedException e) {
-                    Log.registrar("ERROR", "Productor interrumpido: " + e.getMessage());
-                    Thread.currentThread().interrupt();
-                } catch (Exception e) {
-                    Log.registrar("ERROR", "Error en productor: " + e.getMessage());
-                }
-            });
-        }
-
-        consumidorThread = new Thread(() -> {
-            try {
-                for (int i = 1; i <= 10; i++) {
-                    buffer.consumir();
-                    Thread.sleep(400);
-                }
-                Log.registrar("DEMO", "Consumidor completado");
-            } catch (InterruptedException e) {
-                Log.registrar("ERROR", "Consumidor interrumpido: " + e.getMessage());
-                Thread.currentThread().interrupt(); 
-            } catch (Exception e) {
-                Log.registrar("ERROR", "Error en consumidor: " + e.getMessage());
-            }
-        });
-
-        // Registra el inicio de la demostración y lanza los hilos
-        Log.registrar("DEMO", "Demostración iniciada en hilos separados. Esperando finalización...");
-        productorThread.start();
-        consumidorThread.start();
-        
-        // Espera a que ambos hilos terminen antes de continuar
-        try {
-            productorThread.join(); 
-            consumidorThread.join();
-            Log.registrar("DEMO", "Demostración Productor-Consumidor finalizada.");
-        } catch (InterruptedException e) {
-            Log.registrar("ERROR", "Hilo principal interrumpido mientras esperaba a productor/consumidor: " + e.getMessage());
-            Thread.currentThread().interrupt();
-            productorThread.interrupt();
-            consumidorThread.interrupt();
-        }
-    }
-}
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.*;
+import java.util.stream.*;
+import javax.management.*;
+import jdk.jfr.*;
+
+class PCB {
+    static int counter = 0;
+    int pid;
+    String estado;
+    int prioridad;
+    int tiempoEjecucion;
+    int tiempoOriginal;
+    int tiempoLlegada;
+    int tiempoFinalizacion;
+    int tiempoEspera;
+    int tiempoRetorno;
+    int memoriaRequerida;
+    int operacionesES;
+    int rafagaRestante;
+    int tiempoEsperaES;
+    int instanteListo;
+    int[] rafagasCpu;           // Modelo multi-ráfaga: ráfagas de CPU separadas por E/S
+    int[] esperasES;
+    int indiceRafaga;
+    double estimacionRafaga;    // Predicción de la ráfaga en curso (promedio exponencial)
+    int duracionRafaga;         // Duración de la ráfaga de CPU en curso en el simulador vivo
+    int periodo;                // Tiempo real: periodo o separación mínima (0 = mejor esfuerzo)
+    int plazoRelativo;
+    boolean esporadica;
+    int memoriaEnIntercambio;   // MB de la imagen que está en el área de intercambio
+    int tiempoIntercambio;      // Tiempo virtual acumulado esperando reingresos
+    int pidPadre;               // PID del proceso que lo bifurcó (0 = creado desde cero)
+    List<String> recursosAsignados = new ArrayList<>();
+    List<String> recursosEsperados = new ArrayList<>();
+    CausaTerminacion causaTerminacion;
+    Map<Integer, List<String>> mensajes = new HashMap<>();
+    Temporizador esperaMensaje;
+    Temporizador sueno;
+    Temporizador reingreso;
+
+    // Constructor para inicializar un proceso con prioridad y tiempo de ejecución
+    public PCB(int prioridad, int tiempoEjecucion) {
+        this(prioridad, tiempoEjecucion, ProyectoFinalSimuladorDeProcesos.tiempoGlobal++);
+    }
+
+    // Constructor para un proceso con un instante de llegada conocido
+    public PCB(int prioridad, int tiempoEjecucion, int tiempoLlegada) {
+        this(++counter, prioridad, tiempoEjecucion, tiempoLlegada);
+        Metricas.global.procesosCreados.incrementAndGet();
+    }
+
+    // Constructor que no registra el proceso en el simulador vivo
+    private PCB(int pid, int prioridad, int tiempoEjecucion, int tiempoLlegada) {
+        this.pid = pid;
+        this.estado = "Listo";
+        this.prioridad = prioridad;
+        this.tiempoEjecucion = tiempoEjecucion;
+        this.tiempoOriginal = tiempoEjecucion;
+        this.tiempoLlegada = tiempoLlegada;
+    }
+
+    // Método para crear un proceso de una carga fuera de línea (experimentos): usa el PID
+    // de su propia carga y no toca el contador global ni las métricas
+    static PCB sintetico(int pid, int prioridad, int tiempoEjecucion, int tiempoLlegada) {
+        return new PCB(pid, prioridad, tiempoEjecucion, tiempoLlegada);
+    }
+
+    // Método para marcar el proceso como terminado indicando la causa
+    public void terminar(CausaTerminacion causa) {
+        cancelarTemporizadores();
+        this.estado = "Terminado";
+        this.causaTerminacion = causa;
+        Metricas.global.terminadosPorCausa.incrementAndGet(causa.ordinal());
+    }
+
+    // Método para cancelar la espera de mensajes, el sueño y el reingreso pendientes del proceso
+    private void cancelarTemporizadores() {
+        if (esperaMensaje != null) {
+            ProyectoFinalSimuladorDeProcesos.temporizadores.cancelar(esperaMensaje);
+            esperaMensaje = null;
+            recursosEsperados.remove("Mensaje");
+        }
+        if (sueno != null) {
+            ProyectoFinalSimuladorDeProcesos.temporizadores.cancelar(sueno);
+            sueno = null;
+        }
+        if (reingreso != null) {
+            ProyectoFinalSimuladorDeProcesos.temporizadores.cancelar(reingreso);
+            reingreso = null;
+        }
+    }
+
+    // Método para actualizar la predicción de la siguiente ráfaga por promedio exponencial:
+    // τ(n+1) = α·t(n) + (1 - α)·τ(n)
+    public void actualizarEstimacion(int rafagaObservada, double alfa) {
+        estimacionRafaga = alfa * rafagaObservada + (1 - alfa) * estimacionRafaga;
+    }
+
+    // Método para enviar un mensaje a otro proceso
+    public void enviarMensaje(int pidDestino, String contenido) {
+        PCB p = ProyectoFinalSimuladorDeProcesos.planificador.buscarProceso(pidDestino);
+        if (p != null && p.estado.equals("Terminado")) {
+            Log.registrar("ERROR", "No se envió mensaje: PID " + pidDestino + " ya terminó");
+            return;
+        }
+        if (p != null) {
+            if (!p.mensajes.containsKey(this.pid)) {
+                p.mensajes.put(this.pid, new ArrayList<>());
+            }
+            p.mensajes.get(this.pid).add(contenido);
+            Log.registrar("COMUNICACIÓN", "PID " + this.pid + " → PID " + pidDestino + ": mensaje enviado");
+            if (p.esperaMensaje != null) {
+                ProyectoFinalSimuladorDeProcesos.temporizadores.cancelar(p.esperaMensaje);
+                p.finEsperaMensaje("mensaje recibido de PID " + this.pid);
+            }
+            return;
+        }
+        Log.registrar("ERROR", "No se envió mensaje: PID " + pidDestino + " no encontrado");
+    }
+
+    // Método para esperar un mensaje con tiempo límite; el proceso queda bloqueado
+    // hasta que llegue un mensaje o venza el temporizador
+    public void recibirMensaje(int limite) {
+        if (!mensajes.isEmpty()) {
+            leerMensajes();
+            return;
+        }
+        estado = "Bloqueado";
+        recursosEsperados.add("Mensaje");
+        esperaMensaje = ProyectoFinalSimuladorDeProcesos.programarTemporizador(limite, 
+            () -> finEsperaMensaje("tiempo de espera agotado"));
+        Log.registrar("COMUNICACIÓN", "PID " + pid + " esperando mensaje (límite: " + limite + " unidades)");
+    }
+
+    private void finEsperaMensaje(String motivo) {
+        esperaMensaje = null;
+        recursosEsperados.remove("Mensaje");
+        if (estado.equals("Bloqueado")) estado = "Listo";
+        Log.registrar("COMUNICACIÓN", "PID " + pid + " deja de esperar mensajes: " + motivo);
+    }
+
+    // Método para dormir el proceso durante un número de unidades de tiempo virtual
+    public void dormir(int unidades) {
+        estado = "Dormido";
+        sueno = ProyectoFinalSimuladorDeProcesos.programarTemporizador(unidades, () -> {
+            sueno = null;
+            if (estado.equals("Dormido")) {
+                estado = "Listo";
+                Log.registrar("PROCESO", "Proceso " + pid + " despertó tras dormir " + unidades + " unidades");
+            }
+        });
+        Log.registrar("PROCESO", "Proceso " + pid + " dormido por " + unidades + " unidades");
+    }
+
+    // Método para leer los mensajes recibidos por el proceso
+    public void leerMensajes() {
+        if (mensajes.isEmpty()) {
+            System.out.println("No hay mensajes para este proceso");
+            return;
+        }
+        
+        System.out.println("\n=== MENSAJES PARA PID " + pid + " ===");
+        for (Map.Entry<Integer, List<String>> entry : mensajes.entrySet()) {
+            System.out.println("De PID " + entry.getKey() + ":");
+            for (String msg : entry.getValue()) {
+                System.out.println("- " + msg);
+            }
+        }
+        mensajes.clear();
+    }
+}
+
+enum CausaTerminacion {
+    NORMAL("Ejecución completada"),
+    ERROR("Error durante ejecución"),
+    INTERBLOQUEO("Interbloqueo detectado"),
+    USUARIO("Terminado por usuario");
+    
+    private String descripcion;
+    
+    CausaTerminacion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+    
+    @Override
+    public String toString() {
+        return descripcion;
+    }
+}
+
+class Log {
+    // Método para registrar eventos en el sistema
+    public static void registrar(String tipo, String mensaje) {
+        System.out.println("[" + tipo + "] " + mensaje);
+    }
+}
+
+class FiltroProcesos {
+    String estado;                      // null = cualquier estado
+    int pidMin = 1;
+    int pidMax = Integer.MAX_VALUE;
+    int limite = Integer.MAX_VALUE;     // Top-N: solo los primeros N procesos que coinciden
+    int pagina = 1;
+    int tamanoPagina = Reporte.TAMANO_PAGINA;
+
+    // Método para verificar si un proceso cumple el filtro
+    boolean acepta(PCB p) {
+        return p.pid >= pidMin && p.pid <= pidMax && (estado == null || p.estado.equals(estado));
+    }
+}
+
+class Reporte {
+    static final int TAMANO_PAGINA = 50;
+    private static final PrintWriter salida = new PrintWriter(
+        new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16), false);
+    private static final StringBuilder linea = new StringBuilder(256);
+    private static final StringBuilder auxiliar = new StringBuilder(128);
+    private static final String[] guiones = new String[256];
+    private static char[] volcado = new char[256];
+
+    // Método para iniciar una fila reutilizando siempre el mismo buffer
+    static StringBuilder fila() {
+        linea.setLength(0);
+        return linea;
+    }
+
+    // Método para obtener un buffer auxiliar para celdas compuestas
+    static StringBuilder auxiliar() {
+        auxiliar.setLength(0);
+        return auxiliar;
+    }
+
+    // Método para escribir texto alineado a la izquierda en un ancho fijo
+    static StringBuilder texto(StringBuilder sb, CharSequence texto, int ancho) {
+        sb.append(texto);
+        for (int i = texto.length(); i < ancho; i++) sb.append(' ');
+        return sb;
+    }
+
+    // Método para escribir un número alineado a la izquierda en un ancho fijo
+    static StringBuilder numero(StringBuilder sb, long valor, int ancho) {
+        int inicio = sb.length();
+        sb.append(valor);
+        for (int i = sb.length() - inicio; i < ancho; i++) sb.append(' ');
+        return sb;
+    }
+
+    // Método para escribir un número en punto fijo con 'decimales' cifras, alineado a la
+    // izquierda en un ancho fijo, sin pasar por String.format
+    static StringBuilder decimal(StringBuilder sb, double valor, int decimales, int ancho) {
+        int inicio = sb.length();
+        escribirFijo(sb, valor, decimales);
+        for (int i = sb.length() - inicio; i < ancho; i++) sb.append(' ');
+        return sb;
+    }
+
+    // Método para escribir un porcentaje en punto fijo, alineado a la izquierda
+    static StringBuilder porcentaje(StringBuilder sb, double valor, int decimales, int ancho) {
+        int inicio = sb.length();
+        escribirFijo(sb, valor, decimales);
+        sb.append('%');
+        for (int i = sb.length() - inicio; i < ancho; i++) sb.append(' ');
+        return sb;
+    }
+
+    private static void escribirFijo(StringBuilder sb, double valor, int decimales) {
+        long escala = 1;
+        for (int i = 0; i < decimales; i++) escala *= 10;
+        long fijo = Math.round(Math.abs(valor) * escala);
+        if (valor < 0 && fijo != 0) sb.append('-');
+        sb.append(fijo / escala);
+        if (decimales == 0) return;
+        sb.append('.');
+        long fraccion = fijo % escala;
+        for (long d = escala / 10; d > 1 && fraccion < d; d /= 10) sb.append('0');
+        sb.append(fraccion);
+    }
+
+    // Método para unir una lista de cadenas separadas por coma
+    static StringBuilder unir(StringBuilder sb, List<String> elementos) {
+        for (int i = 0; i < elementos.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(elementos.get(i));
+        }
+        return sb;
+    }
+
+    // Método para recortar con "..." el contenido escrito desde inicio si excede el máximo
+    static StringBuilder recortar(StringBuilder sb, int inicio, int maximo, int corte) {
+        if (sb.length() - inicio > maximo) {
+            sb.setLength(inicio + corte);
+            sb.append("...");
+        }
+        return sb;
+    }
+
+    // Método para escribir la fila en el buffer de salida sin crear cadenas intermedias
+    static void emitir(StringBuilder sb) {
+        int n = sb.length();
+        if (volcado.length < n) volcado = new char[Math.max(n, volcado.length * 2)];
+        sb.getChars(0, n, volcado, 0);
+        salida.write(volcado, 0, n);
+        salida.println();
+    }
+
+    // Método para escribir un borde horizontal de la tabla
+    static void borde(char izquierda, int ancho, char derecha) {
+        if (izquierda == '┌') salida.println();
+        emitir(fila().append(izquierda).append(guiones(ancho)).append(derecha));
+    }
+
+    // Método para escribir un título: "│" + texto + "  │"
+    static void titulo(String texto, int ancho) {
+        emitir(texto(fila().append('│'), texto, ancho).append("  │"));
+    }
+
+    // Método para escribir un renglón abierto: "│ " + texto
+    static void renglon(CharSequence texto, int ancho) {
+        emitir(texto(fila().append("│ "), texto, ancho));
+    }
+
+    // Método para escribir un renglón cerrado: "│ " + texto + "  │"
+    static void renglonCerrado(CharSequence texto, int ancho) {
+        emitir(texto(fila().append("│ "), texto, ancho).append("  │"));
+    }
+
+    // Método para volcar a consola todo lo acumulado en el buffer
+    static void vaciar() {
+        salida.flush();
+    }
+
+    private static String guiones(int ancho) {
+        if (ancho >= guiones.length) return "─".repeat(ancho);
+        if (guiones[ancho] == null) guiones[ancho] = "─".repeat(ancho);
+        return guiones[ancho];
+    }
+}
+
+class Histograma {
+    // Cubetas en potencias de 2: la cubeta i cuenta valores en [2^(i-1), 2^i)
+    private final AtomicLongArray cubetas = new AtomicLongArray(65);
+    private final AtomicLong cantidad = new AtomicLong();
+    private final AtomicLong suma = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+    private volatile long ultimo;
+
+    // Método para registrar una muestra sin reservar memoria
+    void registrar(long valor) {
+        if (valor < 0) valor = 0;
+        cubetas.incrementAndGet(64 - Long.numberOfLeadingZeros(valor));
+        cantidad.incrementAndGet();
+        suma.addAndGet(valor);
+        maximo.accumulateAndGet(valor, Math::max);
+        ultimo = valor;
+    }
+
+    long cantidad() { return cantidad.get(); }
+    long maximo() { return maximo.get(); }
+    long ultimo() { return ultimo; }
+
+    long promedio() {
+        long n = cantidad.get();
+        return n == 0 ? 0 : suma.get() / n;
+    }
+
+    // Método para estimar un percentil como el límite superior de su cubeta
+    long percentil(double p) {
+        long n = cantidad.get();
+        if (n == 0) return 0;
+        long objetivo = (long) Math.ceil(n * p);
+        long acumulado = 0;
+        for (int i = 0; i < 65; i++) {
+            acumulado += cubetas.get(i);
+            if (acumulado >= objetivo) return i == 0 ? 0 : Math.min((1L << i) - 1, maximo.get());
+        }
+        return maximo.get();
+    }
+}
+
+class Metricas implements DynamicMBean {
+    static final Metricas global = new Metricas();
+    static final String NOMBRE_JMX = "simulador:type=Metricas";
+
+    final AtomicLong procesosCreados = new AtomicLong();
+    final AtomicLongArray terminadosPorCausa = new AtomicLongArray(CausaTerminacion.values().length);
+    final AtomicLong concesiones = new AtomicLong();
+    final AtomicLong bloqueos = new AtomicLong();
+    final AtomicLong interbloqueos = new AtomicLong();
+    final AtomicLong decisionesPlanificador = new AtomicLong();
+    final Histograma esperaLock = new Histograma();
+    final Histograma retencionLock = new Histograma();
+    final Histograma ocupacionBuffer = new Histograma();
+    final AtomicLong intercambiosSalida = new AtomicLong();
+    final AtomicLong intercambiosEntrada = new AtomicLong();
+    final Histograma latenciaReingreso = new Histograma();
+    final AtomicLong bifurcaciones = new AtomicLong();
+    final AtomicLong fallosCopia = new AtomicLong();
+
+    private final Map<String, LongSupplier> atributos = new LinkedHashMap<>();
+    private volatile Muestra muestraAnterior = new Muestra(System.nanoTime(), 0);
+    private volatile Muestra muestraReciente = muestraAnterior;
+    private ScheduledExecutorService volcador;
+
+    // Muestra inmutable del contador de decisiones; leerla no la consume
+    private static final class Muestra {
+        final long instante;
+        final long decisiones;
+
+        Muestra(long instante, long decisiones) {
+            this.instante = instante;
+            this.decisiones = decisiones;
+        }
+    }
+
+    private Metricas() {
+        atributos.put("ProcesosCreados", procesosCreados::get);
+        for (CausaTerminacion causa : CausaTerminacion.values()) {
+            atributos.put("Terminados" + causa.name(), () -> terminadosPorCausa.get(causa.ordinal()));
+        }
+        atributos.put("ColaFCFS", () -> tamanoCola("FCFS"));
+        atributos.put("ColaSJF", () -> tamanoCola("SJF"));
+        atributos.put("ColaRoundRobin", () -> tamanoCola("RoundRobin"));
+        atributos.put("ColaPrioridad", () -> tamanoCola("Prioridad"));
+        atributos.put("ProcesosArchivados", () -> {
+            Planificador planificador = ProyectoFinalSimuladorDeProcesos.planificador;
+            return planificador == null ? 0 : planificador.archivo.tamano();
+        });
+        atributos.put("TemporizadoresPendientes", () -> ProyectoFinalSimuladorDeProcesos.temporizadores.pendientes());
+        atributos.put("RecursoConcesiones", concesiones::get);
+        atributos.put("RecursoBloqueos", bloqueos::get);
+        atributos.put("RecursoInterbloqueos", interbloqueos::get);
+        atributos.put("MemoriaLibreMB", () -> ProyectoFinalSimuladorDeProcesos.recurso.memoriaDisponible);
+        atributos.put("LockEsperaPromedioNs", esperaLock::promedio);
+        atributos.put("LockEsperaP99Ns", () -> esperaLock.percentil(0.99));
+        atributos.put("LockEsperaMaxNs", esperaLock::maximo);
+        atributos.put("LockRetencionPromedioNs", retencionLock::promedio);
+        atributos.put("LockRetencionP99Ns", () -> retencionLock.percentil(0.99));
+        atributos.put("LockRetencionMaxNs", retencionLock::maximo);
+        atributos.put("BufferOcupacion", ocupacionBuffer::ultimo);
+        atributos.put("BufferOcupacionPromedio", ocupacionBuffer::promedio);
+        atributos.put("BufferOcupacionMax", ocupacionBuffer::maximo);
+        atributos.put("IntercambiosSalida", intercambiosSalida::get);
+        atributos.put("IntercambiosEntrada", intercambiosEntrada::get);
+        atributos.put("ReingresoLatenciaPromedio", latenciaReingreso::promedio);
+        atributos.put("ReingresoLatenciaMax", latenciaReingreso::maximo);
+        atributos.put("Bifurcaciones", bifurcaciones::get);
+        atributos.put("FallosCopiaEnEscritura", fallosCopia::get);
+        atributos.put("MemoriaUnicaMB", () -> ProyectoFinalSimuladorDeProcesos.recurso.marcos.mbEnUso());
+        atributos.put("DecisionesPlanificador", decisionesPlanificador::get);
+        atributos.put("DecisionesPorSegundo", this::decisionesPorSegundo);
+    }
+
+    // Las colas no son seguras entre hilos: se lee la instantánea que publica el planificador
+    private static long tamanoCola(String algoritmo) {
+        Planificador planificador = ProyectoFinalSimuladorDeProcesos.planificador;
+        return planificador == null ? 0 : planificador.tamanoCola(algoritmo);
+    }
+
+    // Método para calcular las decisiones por segundo sobre una ventana de 1 a 2 segundos.
+    // Las muestras solo rotan cuando la reciente cumple un segundo, así que JMX, el volcado
+    // CSV y el menú ven la misma tasa sin reiniciarse la ventana entre ellos
+    private long decisionesPorSegundo() {
+        long ahora = System.nanoTime();
+        long decisiones = decisionesPlanificador.get();
+        if (ahora - muestraReciente.instante >= 1_000_000_000L) rotarMuestras(ahora, decisiones);
+        Muestra base = muestraAnterior;
+        long transcurrido = Math.max(1, ahora - base.instante);
+        return (decisiones - base.decisiones) * 1_000_000_000L / transcurrido;
+    }
+
+    private synchronized void rotarMuestras(long ahora, long decisiones) {
+        if (ahora - muestraReciente.instante < 1_000_000_000L) return;
+        muestraAnterior = muestraReciente;
+        muestraReciente = new Muestra(ahora, decisiones);
+    }
+
+    // Método para registrar las métricas como MBean en el servidor JMX local
+    static void registrarJmx() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(global, new ObjectName(NOMBRE_JMX));
+            Log.registrar("METRICAS", "Métricas publicadas por JMX como " + NOMBRE_JMX);
+        } catch (JMException e) {
+            Log.registrar("ERROR", "No se pudieron publicar las métricas por JMX: " + e.getMessage());
+        }
+    }
+
+    // Método para volcar periódicamente las métricas a un archivo CSV
+    synchronized void iniciarVolcadoCsv(String ruta, long periodoMs) {
+        if (volcador != null) return;
+        try {
+            PrintWriter csv = new PrintWriter(new BufferedWriter(new FileWriter(ruta)));
+            csv.println("timestamp_ms," + String.join(",", atributos.keySet()));
+            csv.flush();
+            volcador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "volcado-metricas");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            volcador.scheduleAtFixedRate(() -> {
+                StringBuilder fila = new StringBuilder().append(System.currentTimeMillis());
+                for (LongSupplier valor : atributos.values()) {
+                    fila.append(',').append(valor.getAsLong());
+                }
+                csv.println(fila);
+                csv.flush();
+            }, periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+            Log.registrar("METRICAS", "Volcado CSV cada " + periodoMs + "ms en " + ruta);
+        } catch (IOException e) {
+            Log.registrar("ERROR", "No se pudo abrir el archivo de métricas: " + e.getMessage());
+        }
+    }
+
+    // Método para iniciar una grabación JFR con la configuración "profile" (GC, contención
+    // de locks, asignaciones) más los eventos del simulador, volcada al salir de la JVM
+    static void iniciarGrabacionJfr(String ruta) {
+        try {
+            Recording grabacion = new Recording(Configuration.getConfiguration("profile"));
+            grabacion.setName("simulador");
+            grabacion.setDestination(Paths.get(ruta));
+            grabacion.setDumpOnExit(true);
+            grabacion.start();
+            Log.registrar("METRICAS", "Grabación JFR activa; se guardará en " + ruta + " al salir");
+        } catch (IOException | ParseException e) {
+            Log.registrar("ERROR", "No se pudo iniciar la grabación JFR: " + e.getMessage());
+        }
+    }
+
+    // Método para mostrar todas las métricas en consola
+    void mostrar() {
+        Reporte.borde('┌', 70, '┐');
+        Reporte.titulo(" MÉTRICAS DEL SIMULADOR", 68);
+        Reporte.borde('├', 70, '┤');
+        for (Map.Entry<String, LongSupplier> entry : atributos.entrySet()) {
+            StringBuilder sb = Reporte.auxiliar().append(' ');
+            Reporte.texto(sb, entry.getKey(), 30).append(entry.getValue().getAsLong());
+            Reporte.renglonCerrado(sb, 68);
+        }
+        Reporte.borde('└', 70, '┘');
+        Reporte.vaciar();
+    }
+
+    @Override
+    public Object getAttribute(String nombre) throws AttributeNotFoundException {
+        LongSupplier valor = atributos.get(nombre);
+        if (valor == null) throw new AttributeNotFoundException(nombre);
+        return valor.getAsLong();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] nombres) {
+        AttributeList lista = new AttributeList();
+        for (String nombre : nombres) {
+            LongSupplier valor = atributos.get(nombre);
+            if (valor != null) lista.add(new Attribute(nombre, valor.getAsLong()));
+        }
+        return lista;
+    }
+
+    @Override
+    public void setAttribute(Attribute atributo) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Atributo de solo lectura: " + atributo.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList atributos) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String accion, Object[] parametros, String[] firma) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(accion));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        MBeanAttributeInfo[] info = new MBeanAttributeInfo[atributos.size()];
+        int i = 0;
+        for (String nombre : atributos.keySet()) {
+            info[i++] = new MBeanAttributeInfo(nombre, "long", nombre, true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(), "Métricas del simulador de procesos", info, null, null, null);
+    }
+}
+
+// Eventos de Java Flight Recorder. JFR pone el tiempo real (inicio, duración e hilo)
+// y cada evento guarda además el reloj virtual del simulador para poder compararlos
+abstract class EventoSimulador extends Event {
+    @Label("PID")
+    int pid;
+
+    @Label("Longitud de cola")
+    @Description("Procesos en la cola relacionada con la decisión en el momento del evento")
+    int longitudCola;
+
+    @Label("Tiempo virtual")
+    @Description("Reloj del simulador en unidades de tiempo")
+    long tiempoVirtual;
+
+    // Método para completar los campos comunes y confirmar el evento; si no hay
+    // una grabación activa shouldCommit() es falso y no se hace ningún trabajo más
+    void confirmar(int pid, int longitudCola) {
+        if (!shouldCommit()) return;
+        this.pid = pid;
+        this.longitudCola = longitudCola;
+        this.tiempoVirtual = ProyectoFinalSimuladorDeProcesos.tiempoGlobal;
+        commit();
+    }
+}
+
+@Name("simulador.Despacho")
+@Label("Despacho de proceso")
+@Category({"Simulador", "Planificador"})
+class EventoDespacho extends EventoSimulador {
+    @Label("Algoritmo")
+    String algoritmo;
+
+    // Método para registrar un despacho hecho fuera del planificador (bucles de ejecución)
+    static void registrar(int pid, String algoritmo, int longitudCola) {
+        EventoDespacho evento = new EventoDespacho();
+        evento.algoritmo = algoritmo;
+        evento.confirmar(pid, longitudCola);
+    }
+}
+
+@Name("simulador.SolicitudRecurso")
+@Label("Solicitud de recursos")
+@Category({"Simulador", "Recursos"})
+@Description("Concesión o bloqueo en Recurso.solicitar; la duración incluye la espera por el lock")
+class EventoSolicitudRecurso extends EventoSimulador {
+    @Label("Concedido")
+    boolean concedido;
+
+    @Label("Memoria solicitada (MB)")
+    int memoria;
+
+    @Label("Memoria disponible (MB)")
+    int memoriaDisponible;
+}
+
+@Name("simulador.Interbloqueo")
+@Label("Resolución de interbloqueo")
+@Category({"Simulador", "Recursos"})
+@Description("Proceso terminado para romper un interbloqueo")
+class EventoInterbloqueo extends EventoSimulador {
+}
+
+@Name("simulador.Desbloqueo")
+@Label("Desbloqueo de proceso")
+@Category({"Simulador", "Recursos"})
+class EventoDesbloqueo extends EventoSimulador {
+    @Label("Memoria requerida (MB)")
+    int memoriaRequerida;
+}
+
+@Name("simulador.EsperaBuffer")
+@Label("Espera en buffer")
+@Category({"Simulador", "Productor-Consumidor"})
+@Description("Hilo bloqueado por buffer lleno o vacío; no hay PID porque los hilos no son procesos simulados")
+class EventoEsperaBuffer extends Event {
+    @Label("Operación")
+    String operacion;
+
+    @Label("Obtenido")
+    @Description("Falso si venció el tiempo máximo de espera")
+    boolean obtenido;
+
+    @Label("Hilos en espera")
+    int hilosEnEspera;
+
+    @Label("Ocupación del buffer")
+    int ocupacion;
+
+    @Label("Tiempo virtual")
+    long tiempoVirtual;
+}
+
+class Temporizador {
+    long vencimiento;
+    Runnable accion;
+    Temporizador anterior;
+    Temporizador siguiente;
+    int nivel = -1;
+    int ranura;
+
+    boolean activo() {
+        return nivel >= 0;
+    }
+}
+
+class RuedaTemporizadores {
+    static final int BITS = 6;
+    static final int RANURAS = 1 << BITS;
+    static final int NIVELES = 4;                   // Alcance directo: 64^4 = 16.7M unidades de tiempo
+    private static final int MASCARA = RANURAS - 1;
+
+    private final Temporizador[][] ranuras = new Temporizador[NIVELES][RANURAS];
+    private long actual;
+    private int pendientes;
+
+    long actual() { return actual; }
+    int pendientes() { return pendientes; }
+
+    // Método para programar una acción dentro de 'retraso' unidades de tiempo virtual en O(1)
+    public Temporizador programar(long retraso, Runnable accion) {
+        Temporizador t = new Temporizador();
+        t.vencimiento = actual + Math.max(1, retraso);
+        t.accion = accion;
+        insertar(t);
+        pendientes++;
+        return t;
+    }
+
+    // Método para cancelar un temporizador pendiente en O(1)
+    public boolean cancelar(Temporizador t) {
+        if (t == null || !t.activo()) return false;
+        desenlazar(t);
+        pendientes--;
+        return true;
+    }
+
+    // Método para avanzar el tiempo de la rueda disparando los temporizadores vencidos; salta
+    // directo de un instante con trabajo al siguiente, sin recorrer las ranuras vacías
+    public void avanzarHasta(long tiempo) {
+        while (actual < tiempo) {
+            long proximo = pendientes == 0 ? Long.MAX_VALUE : proximoEvento();
+            if (proximo > tiempo) {
+                actual = tiempo;
+                return;
+            }
+            actual = proximo - 1;
+            tick();
+        }
+    }
+
+    // Método para calcular el siguiente instante en que tick() tiene trabajo: una ranura no
+    // vacía del nivel 0 o la cascada de una ranura no vacía de un nivel superior. Cada nivel
+    // se revisa a lo sumo una vuelta, así que el costo no depende del tiempo que se salta
+    long proximoEvento() {
+        long proximo = Long.MAX_VALUE;
+        for (int nivel = 0; nivel < NIVELES; nivel++) {
+            int desplazamiento = BITS * nivel;
+            long base = actual >>> desplazamiento;
+            if ((base + 1) << desplazamiento >= proximo) break;
+            for (int k = 1; k <= RANURAS; k++) {
+                if (ranuras[nivel][(int) (base + k) & MASCARA] != null) {
+                    proximo = Math.min(proximo, (base + k) << desplazamiento);
+                    break;
+                }
+            }
+        }
+        return proximo;
+    }
+
+    private void tick() {
+        actual++;
+        // Al dar la vuelta un nivel se redistribuye la ranura correspondiente del nivel superior
+        for (int nivel = 1; nivel < NIVELES && ((actual >>> (BITS * (nivel - 1))) & MASCARA) == 0; nivel++) {
+            cascada(nivel, (int) (actual >>> (BITS * nivel)) & MASCARA);
+        }
+        int indice = (int) actual & MASCARA;
+        Temporizador t = ranuras[0][indice];
+        ranuras[0][indice] = null;
+        while (t != null) {
+            Temporizador siguiente = t.siguiente;
+            t.anterior = t.siguiente = null;
+            t.nivel = -1;
+            pendientes--;
+            t.accion.run();
+            t = siguiente;
+        }
+    }
+
+    private void cascada(int nivel, int indice) {
+        Temporizador t = ranuras[nivel][indice];
+        ranuras[nivel][indice] = null;
+        while (t != null) {
+            Temporizador siguiente = t.siguiente;
+            t.anterior = t.siguiente = null;
+            insertar(t);
+            t = siguiente;
+        }
+    }
+
+    private void insertar(Temporizador t) {
+        long delta = t.vencimiento - actual;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && delta >= 1L << (BITS * (nivel + 1))) {
+            nivel++;
+        }
+        // Los vencimientos fuera de alcance esperan en el último nivel y se reubican al llegar la cascada
+        long posicion = Math.min(t.vencimiento, actual + (1L << (BITS * NIVELES)) - 1);
+        int indice = (int) (posicion >>> (BITS * nivel)) & MASCARA;
+        t.nivel = nivel;
+        t.ranura = indice;
+        t.siguiente = ranuras[nivel][indice];
+        if (t.siguiente != null) t.siguiente.anterior = t;
+        ranuras[nivel][indice] = t;
+    }
+
+    private void desenlazar(Temporizador t) {
+        if (t.anterior != null) {
+            t.anterior.siguiente = t.siguiente;
+        } else {
+            ranuras[t.nivel][t.ranura] = t.siguiente;
+        }
+        if (t.siguiente != null) t.siguiente.anterior = t.anterior;
+        t.anterior = t.siguiente = null;
+        t.nivel = -1;
+    }
+}
+
+enum PoliticaIntercambio {
+    AL_SUSPENDER("Expulsar la imagen al suspender"),
+    BAJO_PRESION("Expulsar suspendidos solo bajo presión de memoria");
+    
+    private final String descripcion;
+    
+    PoliticaIntercambio(String descripcion) {
+        this.descripcion = descripcion;
+    }
+    
+    @Override
+    public String toString() {
+        return descripcion;
+    }
+}
+
+class AreaIntercambio {
+    static final int BYTES_POR_MB = 4096;       // Cada MB simulado ocupa una página real del archivo
+    static final int MAXIMO_MB = Integer.MAX_VALUE / BYTES_POR_MB;  // Un solo mapeo se direcciona con int
+    final int capacidadMB;
+    final Path ruta;
+    int latenciaBase = 4;                       // Unidades de tiempo fijas por reingreso
+    int mbPorUnidad = 64;                       // Más una unidad por cada bloque de este tamaño
+    final Histograma nsCopia = new Histograma();
+    private final MappedByteBuffer mapa;
+    private final BitSet ocupados;
+    private final Map<Integer, int[]> ubicaciones = new HashMap<>();   // PID -> {primer MB, MB}
+    private int mbEnUso;
+
+    // Constructor que mapea el archivo de intercambio completo en memoria
+    public AreaIntercambio(Path ruta, int capacidadMB) throws IOException {
+        if (capacidadMB < 1 || capacidadMB > MAXIMO_MB) {
+            throw new IllegalArgumentException("la capacidad debe estar entre 1 y " + MAXIMO_MB + "MB (pedida: " + capacidadMB + "MB)");
+        }
+        this.ruta = ruta;
+        this.capacidadMB = capacidadMB;
+        this.ocupados = new BitSet(capacidadMB);
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE, 
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacidadMB * BYTES_POR_MB);
+        }
+    }
+
+    int mbEnUso() { return mbEnUso; }
+    int procesos() { return ubicaciones.size(); }
+
+    // Método para calcular la latencia virtual de traer de vuelta una imagen
+    int latencia(int mb) {
+        return latenciaBase + (mb + mbPorUnidad - 1) / mbPorUnidad;
+    }
+
+    // Método para escribir la imagen de un proceso en un tramo contiguo (primer ajuste);
+    // devuelve false si no hay espacio
+    boolean escribir(int pid, int mb) {
+        int inicio = ocupados.nextClearBit(0);
+        while (inicio + mb <= capacidadMB) {
+            int siguienteOcupado = ocupados.nextSetBit(inicio);
+            if (siguienteOcupado < 0 || siguienteOcupado >= inicio + mb) break;
+            inicio = ocupados.nextClearBit(siguienteOcupado);
+        }
+        if (inicio + mb > capacidadMB) return false;
+        
+        long t0 = System.nanoTime();
+        for (int k = 0; k < mb; k++) {
+            int base = (inicio + k) * BYTES_POR_MB;
+            for (int off = 0; off < BYTES_POR_MB; off += 8) {
+                mapa.putLong(base + off, contenido(pid, k, off));
+            }
+        }
+        nsCopia.registrar(System.nanoTime() - t0);
+        ocupados.set(inicio, inicio + mb);
+        ubicaciones.put(pid, new int[] {inicio, mb});
+        mbEnUso += mb;
+        return true;
+    }
+
+    // Método para leer la imagen y liberar su tramo; devuelve false si el contenido no coincide
+    boolean leer(int pid) {
+        int[] ubicacion = ubicaciones.remove(pid);
+        if (ubicacion == null) return false;
+        long t0 = System.nanoTime();
+        boolean integra = true;
+        for (int k = 0; k < ubicacion[1]; k++) {
+            int base = (ubicacion[0] + k) * BYTES_POR_MB;
+            for (int off = 0; off < BYTES_POR_MB; off += 8) {
+                integra &= mapa.getLong(base + off) == contenido(pid, k, off);
+            }
+        }
+        nsCopia.registrar(System.nanoTime() - t0);
+        liberarTramo(ubicacion);
+        return integra;
+    }
+
+    // Método para descartar la imagen sin leerla (el proceso terminó mientras estaba fuera)
+    void descartar(int pid) {
+        int[] ubicacion = ubicaciones.remove(pid);
+        if (ubicacion != null) liberarTramo(ubicacion);
+    }
+
+    private void liberarTramo(int[] ubicacion) {
+        ocupados.clear(ubicacion[0], ubicacion[0] + ubicacion[1]);
+        mbEnUso -= ubicacion[1];
+    }
+
+    // Contenido sintético de la imagen, reproducible para verificar el reingreso
+    private static long contenido(int pid, int mb, int desplazamiento) {
+        long x = ((long) pid << 40) ^ ((long) mb << 16) ^ desplazamiento;
+        x *= 0x9E3779B97F4A7C15L;
+        return x ^ (x >>> 29);
+    }
+}
+
+class TablaMarcos {
+    static final int MB_POR_MARCO = 4;
+    private int[] referencias = new int[256];       // Procesos que mapean cada marco (0 = libre)
+    private int[] tamanoMB = new int[256];          // El último marco de una reserva puede ser parcial
+    private int[] libres = new int[256];
+    private int numLibres;
+    private int siguienteNuevo;
+    private int mbEnUso;
+    private final Map<Integer, EspacioDirecciones> espacios = new HashMap<>();
+    private final Map<String, int[]> regiones = new HashMap<>();   // Regiones de solo lectura por nombre
+
+    static class EspacioDirecciones {
+        int[] paginas = new int[8];                 // Marco al que apunta cada página virtual
+        int numPaginas;
+        final BitSet copiaEnEscritura = new BitSet();
+        final BitSet soloLectura = new BitSet();
+        final BitSet enIntercambio = new BitSet();  // Páginas expulsadas: guardan sus MB en vez del marco
+        final Set<String> regiones = new HashSet<>();   // Regiones compartidas ya mapeadas
+        long fallosCopia;
+
+        void agregar(int marco, boolean protegida) {
+            if (numPaginas == paginas.length) paginas = Arrays.copyOf(paginas, numPaginas * 2);
+            if (protegida) soloLectura.set(numPaginas);
+            paginas[numPaginas++] = marco;
+        }
+    }
+
+    // Memoria física realmente ocupada: cada marco cuenta una vez aunque lo compartan varios
+    int mbEnUso() { return mbEnUso; }
+    boolean tieneEspacio(int pid) { return espacios.containsKey(pid); }
+    boolean existeRegion(String nombre) { return regiones.containsKey(nombre); }
+    boolean mapea(int pid, String nombre) { return tieneEspacio(pid) && espacio(pid).regiones.contains(nombre); }
+    int paginas(int pid) { return espacio(pid).numPaginas; }
+    int marcosEnUso() { return siguienteNuevo - numLibres; }
+    long fallosCopia(int pid) { return espacio(pid).fallosCopia; }
+
+    private EspacioDirecciones espacio(int pid) {
+        return espacios.computeIfAbsent(pid, k -> new EspacioDirecciones());
+    }
+
+    private int nuevoMarco(int mb) {
+        int marco;
+        if (numLibres > 0) {
+            marco = libres[--numLibres];
+        } else {
+            if (siguienteNuevo == referencias.length) {
+                referencias = Arrays.copyOf(referencias, siguienteNuevo * 2);
+                tamanoMB = Arrays.copyOf(tamanoMB, siguienteNuevo * 2);
+                libres = Arrays.copyOf(libres, siguienteNuevo * 2);
+            }
+            marco = siguienteNuevo++;
+        }
+        referencias[marco] = 1;
+        tamanoMB[marco] = mb;
+        mbEnUso += mb;
+        return marco;
+    }
+
+    // Devuelve los MB liberados (0 si el marco sigue mapeado por otro proceso)
+    private int soltar(int marco) {
+        if (--referencias[marco] > 0) return 0;
+        libres[numLibres++] = marco;
+        mbEnUso -= tamanoMB[marco];
+        return tamanoMB[marco];
+    }
+
+    // Método para reservar memoria privada y escribible, en marcos de MB_POR_MARCO
+    void reservar(int pid, int mb) {
+        EspacioDirecciones e = espacio(pid);
+        for (int resto = mb; resto > 0; resto -= MB_POR_MARCO) {
+            e.agregar(nuevoMarco(Math.min(resto, MB_POR_MARCO)), false);
+        }
+    }
+
+    // Método para mapear una región de solo lectura compartida por nombre (código, bibliotecas);
+    // solo el primer proceso la carga. Devuelve los MB mapeados (0 si el proceso ya la mapeaba)
+    int mapearRegion(int pid, String nombre, int mb) {
+        EspacioDirecciones e = espacio(pid);
+        if (!e.regiones.add(nombre)) return 0;
+        int[] marcos = regiones.get(nombre);
+        if (marcos == null) {
+            marcos = new int[(mb + MB_POR_MARCO - 1) / MB_POR_MARCO];
+            for (int i = 0; i < marcos.length; i++) {
+                marcos[i] = nuevoMarco(Math.min(mb - i * MB_POR_MARCO, MB_POR_MARCO));
+            }
+            regiones.put(nombre, marcos);
+            for (int marco : marcos) e.agregar(marco, true);
+        } else {
+            mb = 0;
+            for (int marco : marcos) {
+                referencias[marco]++;
+                mb += tamanoMB[marco];
+                e.agregar(marco, true);
+            }
+        }
+        return mb;
+    }
+
+    // Método para bifurcar: el hijo apunta a los mismos marcos y las páginas escribibles de
+    // ambos quedan en copia en escritura. No se copia ni se reserva memoria
+    void bifurcar(int padre, int hijo) {
+        EspacioDirecciones origen = espacio(padre);
+        EspacioDirecciones copia = espacio(hijo);
+        copia.paginas = Arrays.copyOf(origen.paginas, Math.max(8, origen.numPaginas));
+        copia.numPaginas = origen.numPaginas;
+        copia.soloLectura.or(origen.soloLectura);
+        copia.regiones.addAll(origen.regiones);
+        for (int i = 0; i < origen.numPaginas; i++) referencias[origen.paginas[i]]++;
+        origen.copiaEnEscritura.set(0, origen.numPaginas);
+        origen.copiaEnEscritura.andNot(origen.soloLectura);
+        copia.copiaEnEscritura.or(origen.copiaEnEscritura);
+    }
+
+    // Método para saber si un rango incluye páginas de solo lectura
+    boolean protegida(int pid, int desde, int cantidad) {
+        int primera = espacio(pid).soloLectura.nextSetBit(desde);
+        return primera >= 0 && primera < desde + cantidad;
+    }
+
+    // Método para calcular los MB que habría que copiar al escribir en un rango de páginas
+    int costoEscritura(int pid, int desde, int cantidad) {
+        EspacioDirecciones e = espacio(pid);
+        int mb = 0;
+        int hasta = Math.min(desde + cantidad, e.numPaginas);
+        for (int i = e.copiaEnEscritura.nextSetBit(desde); i >= 0 && i < hasta; i = e.copiaEnEscritura.nextSetBit(i + 1)) {
+            if (referencias[e.paginas[i]] > 1) mb += tamanoMB[e.paginas[i]];
+        }
+        return mb;
+    }
+
+    // Método para escribir en un rango de páginas: cada página compartida produce un fallo de
+    // copia; si el proceso ya es el único dueño del marco solo se quita la marca. Devuelve los fallos
+    int escribir(int pid, int desde, int cantidad) {
+        EspacioDirecciones e = espacio(pid);
+        int fallos = 0;
+        int hasta = Math.min(desde + cantidad, e.numPaginas);
+        for (int i = e.copiaEnEscritura.nextSetBit(desde); i >= 0 && i < hasta; i = e.copiaEnEscritura.nextSetBit(i + 1)) {
+            int marco = e.paginas[i];
+            if (referencias[marco] > 1) {
+                e.paginas[i] = nuevoMarco(tamanoMB[marco]);
+                soltar(marco);
+                fallos++;
+            }
+        }
+        e.copiaEnEscritura.clear(desde, hasta);
+        e.fallosCopia += fallos;
+        return fallos;
+    }
+
+    // Método para desmapear todo el espacio de un proceso. Devuelve los MB que quedaron libres
+    int liberar(int pid) {
+        EspacioDirecciones e = espacios.remove(pid);
+        if (e == null) return 0;
+        int liberados = 0;
+        for (int i = 0; i < e.numPaginas; i++) {
+            if (!e.enIntercambio.get(i)) liberados += soltar(e.paginas[i]);
+        }
+        regiones.values().removeIf(marcos -> referencias[marcos[0]] == 0);
+        return liberados;
+    }
+
+    // Una página se puede expulsar si es escribible, está residente y nadie más mapea su marco;
+    // las compartidas y las de copia en escritura aún compartidas se quedan en memoria
+    private boolean expulsable(EspacioDirecciones e, int i) {
+        return !e.soloLectura.get(i) && !e.enIntercambio.get(i) && referencias[e.paginas[i]] == 1;
+    }
+
+    int mbExpulsables(int pid) {
+        EspacioDirecciones e = espacio(pid);
+        int mb = 0;
+        for (int i = 0; i < e.numPaginas; i++) {
+            if (expulsable(e, i)) mb += tamanoMB[e.paginas[i]];
+        }
+        return mb;
+    }
+
+    // Método para expulsar las páginas privadas de un proceso. La tabla de páginas conserva
+    // las entradas compartidas con su protección. Devuelve los MB liberados
+    int expulsar(int pid) {
+        EspacioDirecciones e = espacio(pid);
+        int liberados = 0;
+        for (int i = 0; i < e.numPaginas; i++) {
+            if (!expulsable(e, i)) continue;
+            int mb = soltar(e.paginas[i]);
+            e.paginas[i] = mb;
+            e.enIntercambio.set(i);
+            liberados += mb;
+        }
+        return liberados;
+    }
+
+    // Método para devolver a marcos nuevos las páginas expulsadas. Devuelve los MB ocupados
+    int restaurar(int pid) {
+        EspacioDirecciones e = espacio(pid);
+        int ocupados = 0;
+        for (int i = e.enIntercambio.nextSetBit(0); i >= 0; i = e.enIntercambio.nextSetBit(i + 1)) {
+            ocupados += e.paginas[i];
+            e.paginas[i] = nuevoMarco(e.paginas[i]);
+        }
+        e.enIntercambio.clear();
+        return ocupados;
+    }
+
+    // Marco físico de una página virtual, o -1 si está en el área de intercambio
+    int marco(int pid, int pagina) {
+        EspacioDirecciones e = espacio(pid);
+        return e.enIntercambio.get(pagina) ? -1 : e.paginas[pagina];
+    }
+
+    // Métodos de huella: mapeada (virtual), única (marcos exclusivos) y proporcional (cada
+    // marco compartido se reparte entre quienes lo mapean). Las dos últimas solo cuentan
+    // páginas residentes
+    int mbMapeados(int pid) {
+        EspacioDirecciones e = espacio(pid);
+        int mb = 0;
+        for (int i = 0; i < e.numPaginas; i++) {
+            mb += e.enIntercambio.get(i) ? e.paginas[i] : tamanoMB[e.paginas[i]];
+        }
+        return mb;
+    }
+
+    int mbUnicos(int pid) {
+        EspacioDirecciones e = espacio(pid);
+        int mb = 0;
+        for (int i = 0; i < e.numPaginas; i++) {
+            if (!e.enIntercambio.get(i) && referencias[e.paginas[i]] == 1) mb += tamanoMB[e.paginas[i]];
+        }
+        return mb;
+    }
+
+    double mbProporcionales(int pid) {
+        EspacioDirecciones e = espacio(pid);
+        double mb = 0;
+        for (int i = 0; i < e.numPaginas; i++) {
+            if (!e.enIntercambio.get(i)) mb += (double) tamanoMB[e.paginas[i]] / referencias[e.paginas[i]];
+        }
+        return mb;
+    }
+}
+
+class Recurso {
+    int memoriaDisponible = 4096;    
+    boolean cpuDisponible = true;
+    Map<Integer, List<String>> recursosEsperados = new HashMap<>();
+    Map<Integer, Integer> memoriaAsignadaPorProceso = new HashMap<>();
+    Map<Integer, Temporizador> esperasConLimite = new HashMap<>();
+    // Registro de reservas del modelo de tiempo real (opción 19); solicitar() no lo consulta
+    List<PCB> tareasTiempoReal = new ArrayList<>();
+    double reservaTiempoReal;
+    PoliticaIntercambio politicaIntercambio = PoliticaIntercambio.AL_SUSPENDER;
+    ArrayDeque<PCB> esperandoReingreso = new ArrayDeque<>();
+    final TablaMarcos marcos = new TablaMarcos();
+    private AreaIntercambio intercambio;
+
+    // Método para solicitar recursos para un proceso
+    public boolean solicitar(PCB p, int memoria) {
+        EventoSolicitudRecurso evento = new EventoSolicitudRecurso();
+        evento.begin();
+        long inicioEspera = System.nanoTime();
+        synchronized (this) {
+            long inicioRetencion = System.nanoTime();
+            Metricas.global.esperaLock.registrar(inicioRetencion - inicioEspera);
+            try {
+                boolean concedido = solicitarConLock(p, memoria);
+                evento.concedido = concedido;
+                evento.memoria = memoria;
+                evento.memoriaDisponible = memoriaDisponible;
+                evento.confirmar(p.pid, recursosEsperados.size());
+                return concedido;
+            } finally {
+                Metricas.global.retencionLock.registrar(System.nanoTime() - inicioRetencion);
+            }
+        }
+    }
+
+    // Método para solicitar recursos con un tiempo máximo de espera si el proceso queda bloqueado
+    public boolean solicitar(PCB p, int memoria, int limite) {
+        if (solicitar(p, memoria)) return true;
+        if (p.estado.equals("Bloqueado")) {
+            synchronized (this) {
+                esperasConLimite.put(p.pid, ProyectoFinalSimuladorDeProcesos.programarTemporizador(limite, () -> expirarEspera(p)));
+            }
+        }
+        return false;
+    }
+
+    // Método que se dispara al vencer la espera: el proceso deja de esperar y vuelve a estar listo
+    private synchronized void expirarEspera(PCB p) {
+        esperasConLimite.remove(p.pid);
+        if (recursosEsperados.remove(p.pid) != null) {
+            p.recursosEsperados.clear();
+            if (p.estado.equals("Bloqueado")) p.estado = "Listo";
+            Log.registrar("RECURSO", "PID " + p.pid + " agotó el tiempo de espera de recursos");
+        }
+    }
+
+    private void cancelarEsperaConLimite(int pid) {
+        Temporizador t = esperasConLimite.remove(pid);
+        if (t != null) ProyectoFinalSimuladorDeProcesos.temporizadores.cancelar(t);
+    }
+
+    private boolean solicitarConLock(PCB p, int memoria) {
+        if (memoria > memoriaDisponible && cpuDisponible) {
+            liberarPorPresion(memoria, p);
+        }
+        if (memoria <= memoriaDisponible && cpuDisponible) {
+            memoriaDisponible -= memoria;
+            marcos.reservar(p.pid, memoria);
+            cpuDisponible = false;
+            p.recursosAsignados.add("CPU");
+            p.recursosAsignados.add(memoria + "MB RAM");
+            memoriaAsignadaPorProceso.put(p.pid, memoria);
+            Metricas.global.concesiones.incrementAndGet();
+            Log.registrar("RECURSO", "PID " + p.pid + " obtuvo CPU y " + memoria + "MB de RAM");
+            recursosEsperados.remove(p.pid);
+            cancelarEsperaConLimite(p.pid);
+            p.recursosEsperados.clear();
+            mostrarCambioRecursos("Asignados a PID " + p.pid);
+            return true;
+        } else {
+            p.estado = "Bloqueado";
+            p.recursosEsperados.clear();
+            
+            List<String> recursos = new ArrayList<>();
+            if (memoria > memoriaDisponible) {
+                recursos.add(memoria + "MB RAM");
+                p.recursosEsperados.add(memoria + "MB RAM");
+            }
+            if (!cpuDisponible) {
+                recursos.add("CPU");
+                p.recursosEsperados.add("CPU");
+            }
+            recursosEsperados.put(p.pid, recursos);
+            Metricas.global.bloqueos.incrementAndGet();
+            
+            if (detectarInterbloqueo()) {
+                resolverInterbloqueo(p);
+            }
+            
+            Log.registrar("RECURSO", "PID " + p.pid + " bloqueado esperando recursos: " + 
+                     String.join(", ", recursos) + " (RAM disponible: " + 
+                     memoriaDisponible + "MB, CPU: " + (cpuDisponible ? "disponible" : "no disponible") + ")");
+            return false;
+        }
+    }
+
+    // Método para detectar interbloqueos en el sistema
+    private boolean detectarInterbloqueo() {
+        if (recursosEsperados.size() < 2) return false;
+        
+        int procesosCpuEsperados = 0;
+        for (Map.Entry<Integer, List<String>> entry : recursosEsperados.entrySet()) {
+            if (entry.getValue().contains("CPU")) {
+                procesosCpuEsperados++;
+            }
+        }
+        
+        if (procesosCpuEsperados >= 2 && !cpuDisponible) {
+            Log.registrar("SISTEMA", "¡INTERBLOQUEO DETECTADO! Múltiples procesos esperando CPU");
+            return true;
+        }
+        
+        return false;
+    }
+    
+    // Método para resolver interbloqueos terminando un proceso
+    private void resolverInterbloqueo(PCB procesoActual) {
+        procesoActual.terminar(CausaTerminacion.INTERBLOQUEO);
+        Metricas.global.interbloqueos.incrementAndGet();
+        new EventoInterbloqueo().confirmar(procesoActual.pid, recursosEsperados.size());
+        Log.registrar("INTERBLOQUEO", "PID " + procesoActual.pid + " terminado para resolver interbloqueo");
+        recursosEsperados.remove(procesoActual.pid);
+        procesoActual.recursosEsperados.clear();
+    }
+
+    // Método para admitir una tarea de tiempo real anotando su fracción de CPU en el registro
+    // de reservas. Solo lo usa el modelo independiente de tiempo real, que reparte la CPU
+    // entre las tareas admitidas y los procesos de mejor esfuerzo. Primero se prueba la cota rápida
+    // (densidad <= 1 para EDF, Liu y Layland para RMS) y, si no alcanza, el análisis exacto:
+    // demanda del procesador para EDF, tiempos de respuesta para RMS
+    public synchronized boolean admitirTiempoReal(PCB tarea, boolean edf) {
+        List<PCB> candidatas = new ArrayList<>(tareasTiempoReal);
+        candidatas.add(tarea);
+        double densidad = AnalisisTiempoReal.densidad(candidatas);
+        boolean admitida;
+        if (edf) {
+            admitida = densidad <= 1.0 || AnalisisTiempoReal.demandaProcesador(candidatas);
+        } else if (AnalisisTiempoReal.plazosImplicitos(candidatas) && 
+                   densidad <= AnalisisTiempoReal.cotaLiuLayland(candidatas.size())) {
+            admitida = true;
+        } else {
+            List<PCB> ordenadas = AnalisisTiempoReal.ordenRateMonotonic(candidatas);
+            admitida = true;
+            for (int i = 0; i < ordenadas.size() && admitida; i++) {
+                admitida = AnalisisTiempoReal.tiempoRespuesta(ordenadas, i) >= 0;
+            }
+        }
+        if (!admitida) {
+            Log.registrar("TIEMPO REAL", "PID " + tarea.pid + " rechazada por " + (edf ? "EDF" : "RMS") + 
+                " (C=" + tarea.tiempoOriginal + ", T=" + tarea.periodo + ", D=" + tarea.plazoRelativo + 
+                ", densidad resultante " + String.format("%.3f", densidad) + ")");
+            return false;
+        }
+        tareasTiempoReal.add(tarea);
+        reservaTiempoReal += (double) tarea.tiempoOriginal / tarea.periodo;
+        return true;
+    }
+
+    // Método para liberar recursos asignados a un proceso
+    public void liberar(PCB p) {
+        long inicioEspera = System.nanoTime();
+        synchronized (this) {
+            long inicioRetencion = System.nanoTime();
+            Metricas.global.esperaLock.registrar(inicioRetencion - inicioEspera);
+            try {
+                liberarConLock(p);
+            } finally {
+                Metricas.global.retencionLock.registrar(System.nanoTime() - inicioRetencion);
+            }
+        }
+    }
+
+    private void liberarConLock(PCB p) {
+        boolean cpuLiberada = false;
+        int enIntercambio = p.memoriaEnIntercambio;
+        descartarIntercambio(p);
+        
+        if (p.recursosAsignados.isEmpty()) {
+            Log.registrar("RECURSO", "PID " + p.pid + " no tenía recursos asignados");
+            return;
+        }
+        
+        if (memoriaAsignadaPorProceso.containsKey(p.pid)) {
+            int compartida = memoriaAsignadaPorProceso.remove(p.pid) - enIntercambio;
+            int liberada = marcos.liberar(p.pid);
+            memoriaDisponible += liberada;
+            Log.registrar("RECURSO", "PID " + p.pid + " liberó " + liberada + "MB de RAM" + 
+                (liberada < compartida ? " (" + (compartida - liberada) + "MB siguen compartidos)" : ""));
+        }
+        
+        for (String r : p.recursosAsignados) {
+            if (r.equals("CPU")) {
+                cpuDisponible = true;
+                cpuLiberada = true;
+                Log.registrar("RECURSO", "PID " + p.pid + " liberó CPU");
+                break;
+            }
+        }
+        
+        if (!cpuLiberada) {
+            Log.registrar("RECURSO", "PID " + p.pid + " no tenía la CPU asignada");
+        }
+        
+        p.recursosAsignados.clear();
+        mostrarCambioRecursos("Liberados por PID " + p.pid);
+        
+        desbloquearProcesos();
+        reintentarReingresos();
+    }
+
+    // Método para obtener el área de intercambio, creándola en el primer uso. El archivo se
+    // puede elegir con -Dsimulador.swap.archivo y su capacidad (MB simulados) con -Dsimulador.swap.mb
+    synchronized AreaIntercambio areaIntercambio() {
+        if (intercambio != null) return intercambio;
+        try {
+            String archivo = System.getProperty("simulador.swap.archivo");
+            Path ruta;
+            if (archivo != null) {
+                ruta = Paths.get(archivo);
+            } else {
+                ruta = Files.createTempFile("simulador-swap", ".img");
+                ruta.toFile().deleteOnExit();
+            }
+            intercambio = new AreaIntercambio(ruta, Integer.getInteger("simulador.swap.mb", 8192));
+            Log.registrar("INTERCAMBIO", "Área de intercambio de " + intercambio.capacidadMB + "MB mapeada en " + ruta);
+        } catch (IOException | IllegalArgumentException e) {
+            Log.registrar("ERROR", "No se pudo crear el área de intercambio: " + e.getMessage());
+        }
+        return intercambio;
+    }
+
+    // Método para suspender un proceso (planificación a mediano plazo). Un suspendido no puede
+    // ejecutarse, así que devuelve la CPU; según la política su memoria se expulsa ahora o
+    // solo cuando otro proceso la necesite
+    public synchronized void suspender(PCB p) {
+        p.estado = "Suspendido";
+        Log.registrar("PROCESO", "Proceso " + p.pid + " suspendido");
+        if (p.recursosAsignados.remove("CPU")) {
+            cpuDisponible = true;
+            Log.registrar("RECURSO", "PID " + p.pid + " liberó CPU al suspenderse");
+        }
+        if (politicaIntercambio != PoliticaIntercambio.AL_SUSPENDER || !intercambiarFuera(p)) {
+            desbloquearProcesos();
+        }
+    }
+
+    // Método para reanudar un proceso suspendido; si su imagen está fuera se trae de vuelta
+    // y, si no hay memoria ni siquiera expulsando a otros suspendidos, queda en espera
+    public synchronized void reanudar(PCB p) {
+        int latencia = intercambiarDentro(p);
+        if (latencia < 0) {
+            if (!esperandoReingreso.contains(p)) esperandoReingreso.addLast(p);
+            Log.registrar("INTERCAMBIO", "PID " + p.pid + " sin memoria para reingresar (" + p.memoriaEnIntercambio + 
+                         "MB); sigue suspendido en espera");
+            return;
+        }
+        completarReingreso(p, latencia);
+    }
+
+    // Método para expulsar al área de intercambio las páginas privadas de un proceso; las que
+    // comparte (regiones de solo lectura, copia en escritura) siguen residentes y mapeadas.
+    // La memoria liberada vuelve a estar disponible y se despierta a quienes la esperaban
+    public synchronized boolean intercambiarFuera(PCB p) {
+        if (p.memoriaEnIntercambio > 0 || !memoriaAsignadaPorProceso.containsKey(p.pid)) return false;
+        int mb = marcos.mbExpulsables(p.pid);
+        if (mb == 0) return false;
+        AreaIntercambio area = areaIntercambio();
+        if (area == null) return false;
+        if (!area.escribir(p.pid, mb)) {
+            Log.registrar("ERROR", "Área de intercambio llena: PID " + p.pid + " conserva sus " + mb + "MB");
+            return false;
+        }
+        memoriaDisponible += marcos.expulsar(p.pid);
+        p.memoriaEnIntercambio = mb;
+        Metricas.global.intercambiosSalida.incrementAndGet();
+        Log.registrar("INTERCAMBIO", "PID " + p.pid + ": " + mb + "MB privados expulsados al área de intercambio");
+        desbloquearProcesos();
+        return true;
+    }
+
+    // Método para traer de vuelta la imagen de un proceso. Devuelve la latencia virtual del
+    // reingreso (0 si la memoria seguía residente) o -1 si no hay memoria suficiente
+    private int intercambiarDentro(PCB p) {
+        int mb = p.memoriaEnIntercambio;
+        if (mb == 0) return 0;
+        if (mb > memoriaDisponible) liberarPorPresion(mb, p);
+        if (mb > memoriaDisponible) return -1;
+        
+        if (!intercambio.leer(p.pid)) {
+            Log.registrar("ERROR", "La imagen de PID " + p.pid + " no coincide al leerla del área de intercambio");
+        }
+        memoriaDisponible -= marcos.restaurar(p.pid);
+        p.memoriaEnIntercambio = 0;
+        int latencia = intercambio.latencia(mb);
+        Metricas.global.intercambiosEntrada.incrementAndGet();
+        Metricas.global.latenciaReingreso.registrar(latencia);
+        Log.registrar("INTERCAMBIO", "PID " + p.pid + ": " + mb + "MB traídos de vuelta (latencia " + latencia + " unidades)");
+        return latencia;
+    }
+
+    // Método para cerrar el reingreso: el proceso espera bloqueado la latencia de la lectura
+    private void completarReingreso(PCB p, int latencia) {
+        esperandoReingreso.remove(p);
+        if (latencia == 0) {
+            p.estado = "Listo";
+            Log.registrar("PROCESO", "Proceso " + p.pid + " reanudado");
+            return;
+        }
+        p.estado = "Bloqueado";
+        p.recursosEsperados.add("Intercambio");
+        p.tiempoIntercambio += latencia;
+        p.reingreso = ProyectoFinalSimuladorDeProcesos.programarTemporizador(latencia, () -> {
+            p.reingreso = null;
+            p.recursosEsperados.remove("Intercambio");
+            if (p.estado.equals("Bloqueado") && p.recursosEsperados.isEmpty()) {
+                p.estado = "Listo";
+                Log.registrar("PROCESO", "Proceso " + p.pid + " reanudado tras el reingreso");
+            }
+        });
+    }
+
+    // Método para liberar memoria bajo presión expulsando a los suspendidos que aún la
+    // conservan, empezando por los de mayor memoria
+    private void liberarPorPresion(int necesaria, PCB solicitante) {
+        List<PCB> victimas = new ArrayList<>();
+        for (Integer pid : memoriaAsignadaPorProceso.keySet()) {
+            PCB v = ProyectoFinalSimuladorDeProcesos.planificador.buscarProceso(pid);
+            if (v != null && v != solicitante && v.estado.equals("Suspendido")) victimas.add(v);
+        }
+        victimas.sort(Comparator.comparingInt((PCB v) -> marcos.mbUnicos(v.pid)).reversed());
+        for (PCB v : victimas) {
+            if (necesaria <= memoriaDisponible) return;
+            intercambiarFuera(v);
+        }
+    }
+
+    // Método para bifurcar un proceso (fork): el hijo hereda el espacio de direcciones del padre
+    // en copia en escritura, así que solo se descuenta memoria cuando alguno de los dos escribe
+    public synchronized PCB bifurcar(PCB padre) {
+        if (padre.memoriaEnIntercambio > 0) {
+            Log.registrar("ERROR", "PID " + padre.pid + " tiene su memoria en el área de intercambio");
+            return null;
+        }
+        PCB hijo = new PCB(padre.prioridad, padre.tiempoEjecucion);
+        hijo.pidPadre = padre.pid;
+        Integer mb = memoriaAsignadaPorProceso.get(padre.pid);
+        if (mb != null) {
+            marcos.bifurcar(padre.pid, hijo.pid);
+            memoriaAsignadaPorProceso.put(hijo.pid, mb);
+            hijo.recursosAsignados.add(mb + "MB RAM");
+        }
+        Metricas.global.bifurcaciones.incrementAndGet();
+        Log.registrar("PROCESO", "PID " + padre.pid + " bifurcado en PID " + hijo.pid + 
+                     (mb != null ? " (" + mb + "MB compartidos en copia en escritura)" : ""));
+        return hijo;
+    }
+
+    // Método para escribir en páginas de un proceso; las que comparte provocan fallos de copia
+    // que sí consumen memoria
+    public synchronized boolean escribirMemoria(PCB p, int desde, int cantidad) {
+        if (!memoriaAsignadaPorProceso.containsKey(p.pid) || p.memoriaEnIntercambio > 0) {
+            Log.registrar("ERROR", "PID " + p.pid + " no tiene memoria residente");
+            return false;
+        }
+        if (marcos.protegida(p.pid, desde, cantidad)) {
+            Log.registrar("ERROR", "Violación de protección: PID " + p.pid + " intentó escribir en una región de solo lectura");
+            return false;
+        }
+        int necesaria = marcos.costoEscritura(p.pid, desde, cantidad);
+        if (necesaria > memoriaDisponible) liberarPorPresion(necesaria, p);
+        if (necesaria > memoriaDisponible) {
+            Log.registrar("ERROR", "Sin memoria para copiar " + necesaria + "MB de PID " + p.pid);
+            return false;
+        }
+        memoriaDisponible -= necesaria;
+        int fallos = marcos.escribir(p.pid, desde, cantidad);
+        Metricas.global.fallosCopia.addAndGet(fallos);
+        Log.registrar("RECURSO", "PID " + p.pid + " escribió en " + cantidad + " páginas: " + fallos + 
+                     " fallos de copia (" + necesaria + "MB)");
+        return true;
+    }
+
+    // Método para mapear una región compartida de solo lectura; solo se descuenta memoria
+    // la primera vez que se carga
+    public synchronized boolean mapearCompartida(PCB p, String nombre, int mb) {
+        if (p.memoriaEnIntercambio > 0) {
+            Log.registrar("ERROR", "PID " + p.pid + " tiene su memoria en el área de intercambio");
+            return false;
+        }
+        if (marcos.mapea(p.pid, nombre)) {
+            Log.registrar("ERROR", "PID " + p.pid + " ya tiene mapeada la región " + nombre);
+            return false;
+        }
+        boolean cargada = marcos.existeRegion(nombre);
+        if (!cargada && mb > memoriaDisponible) {
+            Log.registrar("ERROR", "Sin memoria para cargar la región " + nombre + " (" + mb + "MB)");
+            return false;
+        }
+        int mapeados = marcos.mapearRegion(p.pid, nombre, mb);
+        if (!cargada) memoriaDisponible -= mapeados;
+        
+        Integer anterior = memoriaAsignadaPorProceso.get(p.pid);
+        if (anterior != null) p.recursosAsignados.remove(anterior + "MB RAM");
+        int total = (anterior != null ? anterior : 0) + mapeados;
+        memoriaAsignadaPorProceso.put(p.pid, total);
+        p.recursosAsignados.add(total + "MB RAM");
+        Log.registrar("RECURSO", "PID " + p.pid + " mapeó la región " + nombre + " de solo lectura (" + mapeados + "MB, " + 
+                     (cargada ? "ya estaba cargada" : "cargada ahora") + ")");
+        return true;
+    }
+
+    // Método para reintentar, en orden de llegada, los reingresos que esperaban memoria
+    private void reintentarReingresos() {
+        while (!esperandoReingreso.isEmpty()) {
+            PCB p = esperandoReingreso.peekFirst();
+            int latencia = intercambiarDentro(p);
+            if (latencia < 0) return;
+            completarReingreso(p, latencia);
+        }
+    }
+
+    private void descartarIntercambio(PCB p) {
+        esperandoReingreso.remove(p);
+        if (p.memoriaEnIntercambio > 0) {
+            intercambio.descartar(p.pid);
+            p.memoriaEnIntercambio = 0;
+        }
+    }
+    
+    // Método para desbloquear procesos que estaban esperando recursos
+    private void desbloquearProcesos() {
+        List<Integer> procesosDesbloqueados = new ArrayList<>();
+        
+        for (Map.Entry<Integer, List<String>> entry : recursosEsperados.entrySet()) {
+            int pid = entry.getKey();
+            List<String> recursosNecesitados = entry.getValue();
+            
+            boolean puedeDesbloquear = true;
+            int memoriaRequerida = 0;
+            boolean requiereCPU = false;
+            
+            for (String recurso : recursosNecesitados) {
+                if (recurso.contains("MB RAM")) {
+                    memoriaRequerida = Integer.parseInt(recurso.split("MB")[0]);
+                }
+                if (recurso.equals("CPU")) {
+                    requiereCPU = true;
+                }
+            }
+            
+            if (requiereCPU && !cpuDisponible) {
+                puedeDesbloquear = false;
+            }
+            if (memoriaRequerida > memoriaDisponible) {
+                puedeDesbloquear = false;
+            }
+            
+            if (puedeDesbloquear) {
+                procesosDesbloqueados.add(pid);
+                PCB p = ProyectoFinalSimuladorDeProcesos.planificador.buscarProceso(pid);
+                if (p != null && p.estado.equals("Bloqueado")) {
+                    p.estado = "Listo";
+                    p.recursosEsperados.clear();
+                    EventoDesbloqueo evento = new EventoDesbloqueo();
+                    evento.memoriaRequerida = memoriaRequerida;
+                    evento.confirmar(pid, recursosEsperados.size() - procesosDesbloqueados.size());
+                    Log.registrar("RECURSO", "PID " + pid + " desbloqueado, recursos disponibles");
+                }
+            }
+        }
+        
+        for (Integer pid : procesosDesbloqueados) {
+            recursosEsperados.remove(pid);
+            cancelarEsperaConLimite(pid);
+        }
+    }
+    
+    // Método para mostrar el estado de los recursos
+    private void mostrarCambioRecursos(String motivo) {
+        System.out.println("\n--- ACTUALIZACIÓN DE RECURSOS (" + motivo + ") ---");
+        System.out.println("Memoria disponible: " + memoriaDisponible + "MB");
+        System.out.println("CPU disponible: " + (cpuDisponible ? "Sí" : "No"));
+        System.out.println("---------------------------------------");
+    }
+    
+    @Override
+    public String toString() {
+        return "Memoria disponible: " + memoriaDisponible + "MB, CPU disponible: " + cpuDisponible;
+    }
+}
+
+class ColaPrioridadO1 extends AbstractQueue<PCB> {
+    static final int NIVELES_POR_DEFECTO = 140;    // Prioridades 0-139 como en el planificador O(1) de Linux
+
+    private final ArrayDeque<PCB>[] niveles;
+    private final long[] mapaBits;
+    private int tamano;
+
+    // Constructor para una cola con una FIFO por nivel y un mapa de bits de niveles no vacíos
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ColaPrioridadO1(int numNiveles) {
+        niveles = new ArrayDeque[numNiveles];
+        for (int i = 0; i < numNiveles; i++) {
+            niveles[i] = new ArrayDeque<>();
+        }
+        mapaBits = new long[(numNiveles + 63) >>> 6];
+    }
+
+    // Método para obtener el nivel de un proceso (menor número = mayor prioridad)
+    private int nivel(PCB p) {
+        return Math.max(0, Math.min(niveles.length - 1, p.prioridad));
+    }
+
+    // Método para encontrar el nivel no vacío de mayor prioridad revisando 64 niveles por palabra
+    private int primerNivel() {
+        for (int i = 0; i < mapaBits.length; i++) {
+            if (mapaBits[i] != 0) return (i << 6) + Long.numberOfTrailingZeros(mapaBits[i]);
+        }
+        return -1;
+    }
+
+    private void actualizarBit(int nivel) {
+        if (niveles[nivel].isEmpty()) {
+            mapaBits[nivel >>> 6] &= ~(1L << nivel);
+        } else {
+            mapaBits[nivel >>> 6] |= 1L << nivel;
+        }
+    }
+
+    @Override
+    public boolean offer(PCB p) {
+        int nivel = nivel(p);
+        niveles[nivel].addLast(p);
+        mapaBits[nivel >>> 6] |= 1L << nivel;
+        tamano++;
+        return true;
+    }
+
+    @Override
+    public PCB poll() {
+        int nivel = primerNivel();
+        if (nivel < 0) return null;
+        PCB p = niveles[nivel].pollFirst();
+        actualizarBit(nivel);
+        tamano--;
+        return p;
+    }
+
+    @Override
+    public PCB peek() {
+        int nivel = primerNivel();
+        return nivel < 0 ? null : niveles[nivel].peekFirst();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof PCB)) return false;
+        int nivel = nivel((PCB) o);
+        if (!niveles[nivel].remove(o)) {
+            // La prioridad pudo cambiar mientras el proceso estaba encolado
+            nivel = -1;
+            for (int i = 0; i < niveles.length && nivel < 0; i++) {
+                if (niveles[i].remove(o)) nivel = i;
+            }
+            if (nivel < 0) return false;
+        }
+        actualizarBit(nivel);
+        tamano--;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < niveles.length; i++) niveles[i].clear();
+        Arrays.fill(mapaBits, 0);
+        tamano = 0;
+    }
+
+    @Override
+    public int size() {
+        return tamano;
+    }
+
+    // Iterador en orden de despacho: por nivel y, dentro de cada nivel, por orden de llegada
+    @Override
+    public Iterator<PCB> iterator() {
+        return new Iterator<PCB>() {
+            int nivel = -1;
+            Iterator<PCB> actual = Collections.emptyIterator();
+            // hasNext() puede avanzar al siguiente nivel: remove() usa el nivel e iterador del último devuelto
+            Iterator<PCB> iteradorUltimo;
+            int nivelUltimo = -1;
+
+            @Override
+            public boolean hasNext() {
+                while (!actual.hasNext()) {
+                    if (++nivel >= niveles.length) return false;
+                    actual = niveles[nivel].iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public PCB next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                nivelUltimo = nivel;
+                iteradorUltimo = actual;
+                return actual.next();
+            }
+
+            @Override
+            public void remove() {
+                if (iteradorUltimo == null) throw new IllegalStateException();
+                iteradorUltimo.remove();
+                iteradorUltimo = null;
+                actualizarBit(nivelUltimo);
+                tamano--;
+            }
+        };
+    }
+}
+
+class ArchivoProcesos {
+    // Resumen compacto de cada proceso terminado en arreglos primitivos paralelos.
+    // Solo se guardan con detalle los últimos N resúmenes (anillo); los totales cubren todo el historial
+    private final int limite = Math.max(1, Integer.getInteger("simulador.retencion.archivo", 100_000));
+    private int[] pid = new int[Math.min(256, limite)];
+    private int[] prioridad = new int[pid.length];
+    private int[] tiempoOriginal = new int[pid.length];
+    private int[] tiempoLlegada = new int[pid.length];
+    private int[] tiempoFinalizacion = new int[pid.length];
+    private int[] tiempoEspera = new int[pid.length];
+    private int[] tiempoRetorno = new int[pid.length];
+    private byte[] causa = new byte[pid.length];
+    private int inicio;
+    private int retenidos;
+    private int tamano;
+    private long totalEspera;
+    private long totalRetorno;
+    private final long[] porCausa = new long[CausaTerminacion.values().length];
+
+    // Método para guardar el resumen de un proceso terminado
+    public void archivar(PCB p) {
+        if (retenidos == pid.length && pid.length < limite) crecer();
+        int j;
+        if (retenidos == pid.length) {
+            j = inicio;                              // anillo lleno: se descarta el resumen más antiguo
+            inicio = (inicio + 1) % pid.length;
+        } else {
+            j = (inicio + retenidos++) % pid.length;
+        }
+        pid[j] = p.pid;
+        prioridad[j] = p.prioridad;
+        tiempoOriginal[j] = p.tiempoOriginal;
+        tiempoLlegada[j] = p.tiempoLlegada;
+        tiempoFinalizacion[j] = p.tiempoFinalizacion;
+        tiempoEspera[j] = p.tiempoEspera;
+        tiempoRetorno[j] = p.tiempoRetorno;
+        CausaTerminacion c = p.causaTerminacion != null ? p.causaTerminacion : CausaTerminacion.NORMAL;
+        causa[j] = (byte) c.ordinal();
+        tamano++;
+        totalEspera += p.tiempoEspera;
+        totalRetorno += p.tiempoRetorno;
+        porCausa[c.ordinal()]++;
+    }
+
+    int tamano() { return tamano; }
+    int retenidos() { return retenidos; }
+    // Los índices van de 0 (resumen retenido más antiguo) a retenidos() - 1
+    private int fisico(int i) { return (inicio + i) % pid.length; }
+    int pid(int i) { return pid[fisico(i)]; }
+    int prioridad(int i) { return prioridad[fisico(i)]; }
+    int tiempoOriginal(int i) { return tiempoOriginal[fisico(i)]; }
+    int tiempoLlegada(int i) { return tiempoLlegada[fisico(i)]; }
+    int tiempoFinalizacion(int i) { return tiempoFinalizacion[fisico(i)]; }
+    int tiempoEspera(int i) { return tiempoEspera[fisico(i)]; }
+    int tiempoRetorno(int i) { return tiempoRetorno[fisico(i)]; }
+    CausaTerminacion causa(int i) { return CausaTerminacion.values()[causa[fisico(i)]]; }
+
+    // Método para buscar el resumen retenido de un PID (-1 si no está o ya se descartó)
+    int indice(int pidBuscado) {
+        for (int i = retenidos - 1; i >= 0; i--) {
+            if (pid(i) == pidBuscado) return i;
+        }
+        return -1;
+    }
+
+    // Método para mostrar el resumen archivado de un proceso terminado
+    boolean mostrarDetalle(int pidBuscado) {
+        int i = indice(pidBuscado);
+        if (i < 0) return false;
+        Reporte.borde('┌', 70, '┐');
+        Reporte.titulo(" PROCESO ARCHIVADO " + pid(i), 68);
+        Reporte.borde('├', 70, '┤');
+        Reporte.renglonCerrado("Prioridad: " + prioridad(i) + " | Tiempo original: " + tiempoOriginal(i), 67);
+        Reporte.renglonCerrado("Llegada: " + tiempoLlegada(i) + " | Finalización: " + tiempoFinalizacion(i), 67);
+        Reporte.renglonCerrado("Espera: " + tiempoEspera(i) + " | Retorno: " + tiempoRetorno(i), 67);
+        Reporte.renglonCerrado("Causa de terminación: " + causa(i), 67);
+        Reporte.borde('└', 70, '┘');
+        Reporte.vaciar();
+        return true;
+    }
+
+    // Método para mostrar el resumen de los procesos archivados dentro de la lista de procesos
+    void mostrarResumen(int conservados) {
+        if (tamano == 0) return;
+        Reporte.renglon(" Procesos terminados archivados: " + tamano + " (" + conservados + " conservados con detalle, " +
+            retenidos + " resúmenes consultables)", 98);
+        Reporte.renglon(" Espera promedio: " + String.format("%.2f", (double) totalEspera / tamano) +
+            " | Retorno promedio: " + String.format("%.2f", (double) totalRetorno / tamano), 98);
+        StringBuilder sb = Reporte.auxiliar().append(" Por causa:");
+        for (CausaTerminacion c : CausaTerminacion.values()) {
+            if (porCausa[c.ordinal()] > 0) sb.append(' ').append(c).append('=').append(porCausa[c.ordinal()]);
+        }
+        Reporte.renglon(sb, 98);
+    }
+
+    // Método para duplicar la capacidad sin pasar del límite; el anillo aún no ha dado la vuelta (inicio == 0)
+    private void crecer() {
+        int capacidad = (int) Math.min((long) pid.length * 2, limite);
+        pid = Arrays.copyOf(pid, capacidad);
+        prioridad = Arrays.copyOf(prioridad, capacidad);
+        tiempoOriginal = Arrays.copyOf(tiempoOriginal, capacidad);
+        tiempoLlegada = Arrays.copyOf(tiempoLlegada, capacidad);
+        tiempoFinalizacion = Arrays.copyOf(tiempoFinalizacion, capacidad);
+        tiempoEspera = Arrays.copyOf(tiempoEspera, capacidad);
+        tiempoRetorno = Arrays.copyOf(tiempoRetorno, capacidad);
+        causa = Arrays.copyOf(causa, capacidad);
+    }
+}
+
+class Planificador {
+    Queue<PCB> colaFCFS = new LinkedList<>();
+    ColaPrioridadO1 colaPrioridad = new ColaPrioridadO1(ColaPrioridadO1.NIVELES_POR_DEFECTO);
+    // Un proceso de una sola ráfaga ordena por su tiempo de ejecución; solo cuando hay ráfagas
+    // repetidas (ejecución con E/S) se ordena por la ráfaga predicha
+    private boolean sjfPredictivo;
+    PriorityQueue<PCB> colaSJF = new PriorityQueue<>(
+        Comparator.comparingDouble((PCB p) -> sjfPredictivo ? p.estimacionRafaga : p.tiempoEjecucion)
+            .thenComparingInt(p -> p.pid));
+    Queue<PCB> colaRR = new LinkedList<>();
+    List<PCB> listaProcesos = new ArrayList<>();
+    Map<Integer, PCB> procesosPorPid = new HashMap<>();
+    ArrayDeque<PCB> terminadosRecientes = new ArrayDeque<>();
+    ArchivoProcesos archivo = new ArchivoProcesos();
+    int conservarTerminados = Integer.getInteger("simulador.retencion.conservar", 50);
+    String algoritmo;
+    int quantum;
+    QuantumAdaptativo quantumAdaptativo;
+    // Predicción de ráfagas con promedio exponencial para SJF con ráfagas repetidas
+    double alfaRafagas = Integer.getInteger("simulador.sjf.alfa", 50) / 100.0;
+    int estimacionInicial = Integer.getInteger("simulador.sjf.tau0", 10);
+    // Tamaños de cola publicados para lectores de otros hilos (JMX)
+    private volatile int tamanoFCFS, tamanoSJF, tamanoRR, tamanoPrioridad;
+
+    // Constructor para inicializar el planificador con un algoritmo y quantum
+    public Planificador(String algoritmo, int quantum) {
+        this.algoritmo = algoritmo;
+        this.quantum = quantum;
+        Log.registrar("PLANIFICADOR", "Inicializado con algoritmo: " + algoritmo + 
+                     (algoritmo.equals("RoundRobin") ? " (quantum: " + quantum + " unidades)" : ""));
+    }
+
+    // Método para agregar un proceso a la cola correspondiente
+    public void agregarProceso(PCB p) {
+        if (p.estimacionRafaga == 0) p.estimacionRafaga = estimacionInicial;
+        listaProcesos.add(p);
+        procesosPorPid.put(p.pid, p);
+        switch (algoritmo) {
+            case "FCFS": colaFCFS.offer(p); break;
+            case "Prioridad": colaPrioridad.offer(p); break;
+            case "RoundRobin": colaRR.offer(p); break;
+            case "SJF": colaSJF.offer(p); break;
+        }
+        publicarTamanosColas();
+        Log.registrar("PLANIFICADOR", "Proceso " + p.pid + " agregado a cola de " + algoritmo);
+    }
+
+    // Método para publicar los tamaños de cola para lectores de otros hilos sin reservar memoria
+    private void publicarTamanosColas() {
+        tamanoFCFS = colaFCFS.size();
+        tamanoSJF = colaSJF.size();
+        tamanoRR = colaRR.size();
+        tamanoPrioridad = colaPrioridad.size();
+    }
+
+    int tamanoCola(String algoritmo) {
+        switch (algoritmo) {
+            case "FCFS": return tamanoFCFS;
+            case "SJF": return tamanoSJF;
+            case "RoundRobin": return tamanoRR;
+            default: return tamanoPrioridad;
+        }
+    }
+
+    // Método para buscar un proceso vivo o uno de los terminados que aún se conservan
+    public PCB buscarProceso(int pid) {
+        PCB p = procesosPorPid.get(pid);
+        if (p != null) return p;
+        for (PCB terminado : terminadosRecientes) {
+            if (terminado.pid == pid) return terminado;
+        }
+        return null;
+    }
+
+    // Método para sacar de la tabla viva los procesos terminados y archivar su resumen.
+    // Solo se conservan completos los últimos N terminados (0 = solo resúmenes)
+    public void archivarTerminados() {
+        listaProcesos.removeIf(p -> {
+            if (!p.estado.equals("Terminado")) return false;
+            archivo.archivar(p);
+            procesosPorPid.remove(p.pid);
+            if (conservarTerminados > 0) {
+                terminadosRecientes.addLast(p);
+                if (terminadosRecientes.size() > conservarTerminados) terminadosRecientes.removeFirst();
+            }
+            return true;
+        });
+    }
+
+    // Método para obtener el siguiente proceso según el algoritmo
+    public PCB obtenerSiguienteProceso() {
+        EventoDespacho evento = new EventoDespacho();
+        evento.begin();
+        PCB p = null;
+        switch (algoritmo) {
+            case "FCFS": p = colaFCFS.poll(); break;
+            case "Prioridad": p = colaPrioridad.poll(); break;
+            case "SJF": p = colaSJF.poll(); break;
+            case "RoundRobin": 
+                p = colaRR.poll(); 
+                if (p != null && p.estado.equals("Listo")) {
+                    colaRR.offer(p); 
+                }
+                break;
+        }
+        publicarTamanosColas();
+        if (p != null) {
+            Metricas.global.decisionesPlanificador.incrementAndGet();
+            evento.algoritmo = algoritmo;
+            evento.confirmar(p.pid, colaActiva().size());
+            Log.registrar("PLANIFICADOR", "Proceso " + p.pid + " seleccionado para ejecución");
+        }
+        return p;
+    }
+
+    // Método para registrar una ráfaga de CPU completa de un proceso que volverá a la CPU:
+    // actualiza la predicción que usa SJF (si sigue en su cola se reubica) y el quantum adaptativo
+    public void registrarRafaga(PCB p, int duracion) {
+        boolean encolado = colaSJF.remove(p);
+        p.actualizarEstimacion(duracion, alfaRafagas);
+        if (encolado) colaSJF.offer(p);
+        observarRafaga(duracion);
+    }
+
+    // Método para registrar una ráfaga completa en la ventana del quantum adaptativo
+    public void observarRafaga(int duracion) {
+        if (quantumAdaptativo != null && duracion > 0) quantumAdaptativo.observarRafaga(duracion);
+    }
+
+    // Método para cambiar el criterio de la cola de SJF; el montículo se reconstruye
+    // porque el orden de los procesos encolados cambia
+    public void usarPrediccionSJF(boolean activa) {
+        if (sjfPredictivo == activa) return;
+        List<PCB> encolados = new ArrayList<>(colaSJF);
+        colaSJF.clear();
+        sjfPredictivo = activa;
+        colaSJF.addAll(encolados);
+    }
+
+    // Método para obtener el quantum del siguiente despacho; en modo adaptativo se
+    // recalcula con la longitud de la cola y queda reflejado en 'quantum'
+    public int quantumPara(int enCola) {
+        if (quantumAdaptativo != null) quantum = quantumAdaptativo.ajustar(enCola);
+        return quantum;
+    }
+
+    // Método para mostrar la lista de procesos en el sistema
+    public void mostrarProcesos() {
+        mostrarProcesos(new FiltroProcesos());
+    }
+
+    // Método para mostrar una página de la lista de procesos que cumplen el filtro
+    public void mostrarProcesos(FiltroProcesos filtro) {
+        Reporte.borde('┌', 100, '┐');
+        Reporte.titulo(" LISTA DE PROCESOS", 98);
+        Reporte.borde('├', 100, '┤');
+        
+        Reporte.renglon(" Algoritmo de planificación: " + algoritmo + 
+            (algoritmo.equals("RoundRobin") ? " (Quantum: " + quantum + " unidades)" : ""), 98);
+        
+        switch (algoritmo) {
+            case "FCFS":
+                Reporte.renglon(" Descripción: First Come First Served - Procesos atendidos en orden de llegada", 98);
+                break;
+            case "SJF":
+                Reporte.renglon(" Descripción: Shortest Job First - Prioriza procesos con menor tiempo de ejecución", 98);
+                break;
+            case "RoundRobin":
+                Reporte.renglon(" Descripción: Round Robin - Asigna tiempo equitativo por turnos (quantum: " + quantum + ")", 98);
+                break;
+            case "Prioridad":
+                Reporte.renglon(" Descripción: Prioridad - Procesos ordenados por valor de prioridad (menor número = mayor prioridad)", 98);
+                break;
+        }
+        
+        if (listaProcesos.isEmpty() && terminadosRecientes.isEmpty() && archivo.tamano() == 0) {
+            Reporte.renglon(" No hay procesos en el sistema", 98);
+            Reporte.borde('└', 100, '┘');
+            Reporte.vaciar();
+            return;
+        }
+        
+        Reporte.borde('├', 100, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "PID", 5).append(' ');
+        Reporte.texto(encabezado, "Estado", 12).append(' ');
+        Reporte.texto(encabezado, "Prioridad", 9).append(' ');
+        Reporte.texto(encabezado, "Tiempo", 8).append(' ');
+        Reporte.texto(encabezado, "Recursos", 16).append(' ');
+        Reporte.texto(encabezado, "Terminación", 15).append(' ');
+        Reporte.texto(encabezado, "Marcos de memoria", 28);
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 100, '┤');
+        
+        Recurso recurso = ProyectoFinalSimuladorDeProcesos.recurso;
+        int procesosActivos = 0;
+        int coincidencias = 0;
+        int desde = (filtro.pagina - 1) * filtro.tamanoPagina;
+        int hasta = desde + filtro.tamanoPagina;
+        
+        for (Collection<PCB> grupo : List.of(listaProcesos, terminadosRecientes)) {
+            for (PCB p : grupo) {
+                if (!p.estado.equals("Terminado")) procesosActivos++;
+                
+                if (coincidencias >= filtro.limite || !filtro.acepta(p)) continue;
+                int indice = coincidencias++;
+                if (indice >= desde && indice < hasta) {
+                    escribirFilaProceso(p, recurso.marcos);
+                }
+            }
+        }
+        
+        if (coincidencias == 0) {
+            Reporte.renglon(" Ningún proceso coincide con el filtro", 98);
+        } else if (desde >= coincidencias) {
+            Reporte.renglon(" La página " + filtro.pagina + " está fuera de rango (" + coincidencias + " procesos)", 98);
+        } else if (coincidencias > filtro.tamanoPagina) {
+            int paginas = (coincidencias + filtro.tamanoPagina - 1) / filtro.tamanoPagina;
+            Reporte.renglon(" Mostrando " + (desde + 1) + "-" + Math.min(hasta, coincidencias) + " de " + 
+                coincidencias + " procesos (página " + filtro.pagina + " de " + paginas + ")", 98);
+        }
+        
+        Reporte.borde('├', 100, '┤');
+        Reporte.renglon(" RESUMEN DE MEMORIA", 98);
+        Reporte.renglon(" Total marcos asignados: " + recurso.marcos.marcosEnUso() + " (" + TablaMarcos.MB_POR_MARCO + 
+            "MB c/u) | Procesos activos: " + procesosActivos, 98);
+        Reporte.renglon(" Memoria física utilizada: " + recurso.marcos.mbEnUso() + "MB | Libre: " + 
+            recurso.memoriaDisponible + "MB", 98);
+        int mapeados = 0;
+        for (int mb : recurso.memoriaAsignadaPorProceso.values()) mapeados += mb;
+        Reporte.renglon(" Memoria de recursos: " + recurso.marcos.mbEnUso() + "MB únicos de " + mapeados + 
+            "MB mapeados | Fallos de copia: " + Metricas.global.fallosCopia.get(), 98);
+        archivo.mostrarResumen(terminadosRecientes.size());
+        Reporte.borde('└', 100, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para dibujar la fila de un proceso con columnas de ancho fijo
+    private void escribirFilaProceso(PCB p, TablaMarcos marcos) {
+        StringBuilder recursos = Reporte.auxiliar();
+        if (p.estado.equals("Bloqueado") && !p.recursosEsperados.isEmpty()) {
+            recursos.append("Espera: ");
+            Reporte.recortar(Reporte.unir(recursos, p.recursosEsperados), 8, 12, 9);
+        } else if (p.recursosAsignados.isEmpty()) {
+            recursos.append("Ninguno");
+        } else {
+            Reporte.recortar(Reporte.unir(recursos, p.recursosAsignados), 0, 15, 12);
+        }
+        
+        StringBuilder fila = Reporte.fila().append("│ ");
+        Reporte.numero(fila, p.pid, 5).append(' ');
+        Reporte.texto(fila, p.estado, 12).append(' ');
+        Reporte.numero(fila, p.prioridad, 9).append(' ');
+        Reporte.numero(fila, p.tiempoEjecucion, 8).append(' ');
+        Reporte.texto(fila, recursos, 16).append(' ');
+        Reporte.texto(fila, p.causaTerminacion != null ? p.causaTerminacion.toString() : "", 15).append(' ');
+        
+        // Marcos físicos reales de la tabla de páginas; las páginas en intercambio no tienen
+        int inicioMarcos = fila.length();
+        int paginas = p.estado.equals("Terminado") || !marcos.tieneEspacio(p.pid) ? 0 : marcos.paginas(p.pid);
+        if (p.memoriaEnIntercambio > 0) {
+            fila.append("Interc. ").append(p.memoriaEnIntercambio).append("MB");
+        }
+        int residentes = 0;
+        for (int i = 0; i < paginas && fila.length() - inicioMarcos <= 27; i++) {
+            int marco = marcos.marco(p.pid, i);
+            if (marco < 0) continue;
+            fila.append(fila.length() == inicioMarcos ? "Marcos: " : residentes == 0 ? "; marcos: " : ", ");
+            fila.append(marco);
+            residentes++;
+        }
+        if (fila.length() == inicioMarcos) fila.append("N/A");
+        Reporte.recortar(fila, inicioMarcos, 27, 24);
+        for (int i = fila.length() - inicioMarcos; i < 28; i++) fila.append(' ');
+        Reporte.emitir(fila);
+        
+        if (!p.mensajes.isEmpty()) {
+            int totalMensajes = 0;
+            for (List<String> pendientes : p.mensajes.values()) totalMensajes += pendientes.size();
+            Reporte.renglon(Reporte.auxiliar().append("   └─ Mensajes pendientes: ").append(totalMensajes), 98);
+        }
+        
+        if (p.estado.equals("Ejecutando")) {
+            Reporte.renglon(Reporte.auxiliar().append("   └─ Detalles PCB: ID=").append(p.pid)
+                .append(" Prioridad=").append(p.prioridad).append(" EstadoActual=").append(p.estado)
+                .append(" TiempoRestante=").append(p.tiempoEjecucion), 98);
+        }
+    }
+
+    // Método para obtener la cola activa según el algoritmo
+    Queue<PCB> colaActiva() {
+        switch (algoritmo) {
+            case "FCFS": return colaFCFS;
+            case "Prioridad": return colaPrioridad;
+            case "SJF": return colaSJF;
+            default: return colaRR;
+        }
+    }
+
+    // Método para mostrar el estado de las colas de planificación
+    public void mostrarEstadoColas() {
+        Reporte.borde('┌', 60, '┐');
+        Reporte.titulo(" ESTADO DE LAS COLAS", 58);
+        Reporte.borde('├', 60, '┤');
+        
+        Reporte.emitir(Reporte.texto(Reporte.fila().append("│ Algoritmo: "), algoritmo + 
+            (algoritmo.equals("RoundRobin") ? " (quantum: " + quantum + " unidades)" : ""), 46).append("  │"));
+        
+        Queue<PCB> colaActiva = colaActiva();
+        
+        Reporte.titulo(" Procesos en cola: " + (colaActiva.isEmpty() ? "Vacía" : String.valueOf(colaActiva.size())), 58);
+        
+        if (colaActiva.isEmpty()) {
+            Reporte.borde('└', 60, '┘');
+            Reporte.vaciar();
+            return;
+        }
+        
+        Reporte.borde('├', 60, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "Pos", 3).append(' ');
+        Reporte.texto(encabezado, "PID", 6).append(' ');
+        Reporte.texto(encabezado, "Prioridad", 11).append(' ');
+        Reporte.texto(encabezado, "Tiempo", 10).append(' ');
+        Reporte.texto(encabezado, "Estado", 22).append('│');
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 60, '┤');
+        
+        int pos = 1;
+        for (PCB p : colaActiva) {
+            if (pos > Reporte.TAMANO_PAGINA) {
+                Reporte.titulo(" ... y " + (colaActiva.size() - Reporte.TAMANO_PAGINA) + " procesos más", 58);
+                break;
+            }
+            StringBuilder fila = Reporte.fila().append("│ ");
+            Reporte.numero(fila, pos++, 3).append(' ');
+            Reporte.numero(fila, p.pid, 6).append(' ');
+            Reporte.numero(fila, p.prioridad, 11).append(' ');
+            Reporte.numero(fila, p.tiempoEjecucion, 10).append(' ');
+            Reporte.texto(fila, p.estado, 22).append('│');
+            Reporte.emitir(fila);
+        }
+        Reporte.borde('└', 60, '┘');
+        Reporte.vaciar();
+    }
+    
+    // Método para capturar todos los procesos vivos en una tabla copy-on-write que luego se
+    // puede bifurcar: primero los ejecutables en el orden actual de la cola de listos y después
+    // los bloqueados, dormidos y suspendidos, junto con la memoria, la CPU del gestor de
+    // recursos, las esperas pendientes y el vencimiento de sus temporizadores
+    public TablaProcesosCOW capturarEstado(Recurso recurso) {
+        TablaProcesosCOW tabla = new TablaProcesosCOW();
+        Set<Integer> capturados = new HashSet<>();
+        synchronized (recurso) {
+            tabla.memoriaLibre = recurso.memoriaDisponible;
+            tabla.cpuLibre = recurso.cpuDisponible;
+            for (PCB p : listaProcesos) {
+                if (p.estado.equals("Ejecutando") && capturados.add(p.pid)) capturarProceso(tabla, p, recurso);
+            }
+            for (PCB p : colaActiva()) {
+                if (p.estado.equals("Listo") && capturados.add(p.pid)) capturarProceso(tabla, p, recurso);
+            }
+            for (PCB p : listaProcesos) {
+                if (!p.estado.equals("Terminado") && capturados.add(p.pid)) capturarProceso(tabla, p, recurso);
+            }
+        }
+        return tabla;
+    }
+
+    private static void capturarProceso(TablaProcesosCOW tabla, PCB p, Recurso recurso) {
+        int estado = TablaProcesosCOW.LISTO;
+        int esperaMb = -1;
+        boolean esperaCpu = false;
+        List<String> esperados = recurso.recursosEsperados.get(p.pid);
+        if (recurso.esperandoReingreso.contains(p)) {
+            estado = TablaProcesosCOW.ESPERA_REINGRESO;
+            esperaMb = p.memoriaEnIntercambio;
+        } else if (p.estado.equals("Suspendido")) {
+            estado = TablaProcesosCOW.SUSPENDIDO;
+        } else if (p.estado.equals("Bloqueado") || p.estado.equals("Dormido")) {
+            estado = TablaProcesosCOW.BLOQUEADO;
+            if (esperados != null) {
+                esperaMb = 0;
+                for (String r : esperados) {
+                    if (r.contains("MB RAM")) esperaMb = Integer.parseInt(r.split("MB")[0]);
+                    if (r.equals("CPU")) esperaCpu = true;
+                }
+            }
+        }
+        long despierta = Long.MAX_VALUE;
+        for (Temporizador t : new Temporizador[] {p.sueno, p.esperaMensaje, p.reingreso, recurso.esperasConLimite.get(p.pid)}) {
+            if (t != null && t.activo()) despierta = Math.min(despierta, t.vencimiento);
+        }
+        int memoria = recurso.memoriaAsignadaPorProceso.containsKey(p.pid) ? recurso.marcos.mbUnicos(p.pid) : 0;
+        tabla.agregar(p.pid, p.tiempoLlegada, p.tiempoOriginal, p.tiempoEjecucion, p.prioridad, estado, memoria,
+            p.recursosAsignados.contains("CPU"), esperaMb, esperaCpu, despierta == Long.MAX_VALUE ? -1 : despierta);
+    }
+
+    // Método para bloquear un proceso que inició una operación de E/S
+    public void bloquearPorES(PCB p, String dispositivo) {
+        p.estado = "Bloqueado";
+        p.recursosEsperados.add(dispositivo);
+        colaActiva().remove(p);
+        publicarTamanosColas();
+        Log.registrar("E/S", "PID " + p.pid + " bloqueado esperando " + dispositivo);
+    }
+
+    // Método para devolver a la cola de listos un proceso cuya E/S terminó
+    public void despertarPorES(PCB p, String dispositivo) {
+        p.recursosEsperados.remove(dispositivo);
+        p.estado = "Listo";
+        colaActiva().offer(p);
+        publicarTamanosColas();
+        Log.registrar("E/S", "PID " + p.pid + " completó E/S en " + dispositivo + ", vuelve a la cola de listos");
+    }
+
+    // Método para actualizar las colas de planificación
+    public void actualizarColas() {
+        switch (algoritmo) {
+            case "FCFS":
+                colaFCFS.clear();
+                for (PCB p : listaProcesos) {
+                    if (p.estado.equals("Listo")) {
+                        colaFCFS.offer(p);
+                    }
+                }
+                break;
+            case "Prioridad":
+                colaPrioridad.clear();
+                for (PCB p : listaProcesos) {
+                    if (p.estado.equals("Listo")) {
+                        colaPrioridad.offer(p);
+                    }
+                }
+                break;
+            case "SJF":
+                colaSJF.clear();
+                for (PCB p : listaProcesos) {
+                    if (p.estado.equals("Listo")) {
+                        colaSJF.offer(p);
+                    }
+                }
+                break;
+            case "RoundRobin":
+                colaRR.clear();
+                for (PCB p : listaProcesos) {
+                    if (p.estado.equals("Listo")) {
+                        colaRR.offer(p);
+                    }
+                }
+                break;
+        }
+        publicarTamanosColas();
+    }
+}
+
+enum PoliticaDisco {
+    FCFS("Orden de llegada"),
+    SSTF("Menor tiempo de búsqueda primero"),
+    SCAN("Elevador: recorre hasta el extremo y regresa"),
+    CLOOK("C-LOOK: sube hasta la última solicitud y salta a la más baja");
+
+    private String descripcion;
+
+    PoliticaDisco(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    @Override
+    public String toString() {
+        return name() + " (" + descripcion + ")";
+    }
+}
+
+class SolicitudES {
+    final PCB proceso;
+    final int pista;
+    final int llegada;
+
+    public SolicitudES(PCB proceso, int pista, int llegada) {
+        this.proceso = proceso;
+        this.pista = pista;
+        this.llegada = llegada;
+    }
+}
+
+class DispositivoES {
+    final String nombre;
+    final int pistas;
+    final PoliticaDisco politica;
+    int tiempoTransferencia = 2;
+    double costoPorPista = 0.05;
+    int cabeza = 0;
+    boolean haciaArriba = true;
+    final List<SolicitudES> cola = new ArrayList<>();
+    SolicitudES enServicio;
+    int finServicio;
+    long tiempoOcupado;
+    long recorridoTotal;
+    int atendidas;
+
+    // Constructor para un disco con su número de pistas y política de planificación
+    public DispositivoES(String nombre, int pistas, PoliticaDisco politica) {
+        this.nombre = nombre;
+        this.pistas = pistas;
+        this.politica = politica;
+    }
+
+    // Método para encolar una solicitud de E/S
+    public void solicitar(PCB p, int pista, int tiempo) {
+        cola.add(new SolicitudES(p, pista, tiempo));
+    }
+
+    boolean ocupado() {
+        return enServicio != null;
+    }
+
+    // Método para iniciar el servicio de la siguiente solicitud según la política
+    public void iniciarServicio(int tiempo) {
+        if (enServicio != null || cola.isEmpty()) return;
+        int indice = 0;
+        int recorrido;
+        switch (politica) {
+            case SSTF:
+                for (int i = 1; i < cola.size(); i++) {
+                    if (Math.abs(cola.get(i).pista - cabeza) < Math.abs(cola.get(indice).pista - cabeza)) indice = i;
+                }
+                recorrido = Math.abs(cola.get(indice).pista - cabeza);
+                break;
+            case SCAN:
+                indice = masCercanaEnDireccion(haciaArriba);
+                if (indice >= 0) {
+                    recorrido = Math.abs(cola.get(indice).pista - cabeza);
+                } else {
+                    // No quedan solicitudes en esta dirección: llega al extremo y da la vuelta
+                    int extremo = haciaArriba ? pistas - 1 : 0;
+                    haciaArriba = !haciaArriba;
+                    indice = masCercanaEnDireccion(haciaArriba);
+                    recorrido = Math.abs(extremo - cabeza) + Math.abs(extremo - cola.get(indice).pista);
+                }
+                break;
+            case CLOOK:
+                indice = masCercanaEnDireccion(true);
+                if (indice < 0) {
+                    indice = 0;
+                    for (int i = 1; i < cola.size(); i++) {
+                        if (cola.get(i).pista < cola.get(indice).pista) indice = i;
+                    }
+                }
+                recorrido = Math.abs(cola.get(indice).pista - cabeza);
+                break;
+            default:
+                recorrido = Math.abs(cola.get(0).pista - cabeza);
+                break;
+        }
+        enServicio = cola.remove(indice);
+        cabeza = enServicio.pista;
+        int servicio = tiempoTransferencia + (int) Math.ceil(recorrido * costoPorPista);
+        finServicio = tiempo + servicio;
+        tiempoOcupado += servicio;
+        recorridoTotal += recorrido;
+    }
+
+    // Método para terminar la solicitud en servicio y devolverla
+    public SolicitudES completar() {
+        SolicitudES terminada = enServicio;
+        enServicio = null;
+        atendidas++;
+        return terminada;
+    }
+
+    private int masCercanaEnDireccion(boolean arriba) {
+        int indice = -1;
+        for (int i = 0; i < cola.size(); i++) {
+            int pista = cola.get(i).pista;
+            if (arriba ? pista < cabeza : pista > cabeza) continue;
+            if (indice < 0 || Math.abs(pista - cabeza) < Math.abs(cola.get(indice).pista - cabeza)) indice = i;
+        }
+        return indice;
+    }
+}
+
+class SimulacionES {
+    final Planificador planificador;
+    final DispositivoES disco;
+    final Random random;
+    final List<PCB> finalizados = new ArrayList<>();
+    long cpuOcupado;
+    int inicio;
+    int fin;
+    private boolean cpuVencida;
+    private boolean discoVencido;
+    private final Runnable vencerCpu = () -> cpuVencida = true;
+    private final Runnable vencerDisco = () -> discoVencido = true;
+
+    public SimulacionES(Planificador planificador, DispositivoES disco, long semilla) {
+        this.planificador = planificador;
+        this.disco = disco;
+        this.random = new Random(semilla);
+    }
+
+    // Método para calcular la siguiente ráfaga de CPU repartiendo el tiempo restante
+    // entre las operaciones de E/S pendientes
+    private static int siguienteRafaga(PCB p) {
+        return (p.tiempoEjecucion + p.operacionesES) / (p.operacionesES + 1);
+    }
+
+    // Método para ejecutar los procesos listos alternando ráfagas de CPU y de E/S;
+    // la CPU atiende a otros procesos mientras el disco sirve las solicitudes.
+    // El fin de cada porción de CPU (quantum) y de cada servicio de disco es un temporizador
+    public void ejecutar(int maxOperacionesES) {
+        planificador.actualizarColas();
+        planificador.usarPrediccionSJF(true);
+        Queue<PCB> listos = planificador.colaActiva();
+        int t = ProyectoFinalSimuladorDeProcesos.tiempoGlobal;
+        cpuVencida = discoVencido = false;
+        inicio = t;
+        int pendientes = listos.size();
+        for (PCB p : listos) {
+            p.operacionesES = random.nextInt(maxOperacionesES + 1);
+            p.rafagaRestante = p.duracionRafaga = siguienteRafaga(p);
+            p.instanteListo = t;
+            p.tiempoEspera = 0;
+            p.tiempoEsperaES = 0;
+        }
+        
+        PCB enCpu = null;
+        int porcion = 0;
+        while (pendientes > 0) {
+            if (enCpu == null && !listos.isEmpty()) {
+                enCpu = listos.poll();
+                enCpu.estado = "Ejecutando";
+                enCpu.tiempoEspera += t - enCpu.instanteListo;
+                porcion = NucleoDespacho.porTurnos(planificador.algoritmo) ? 
+                    Math.min(enCpu.rafagaRestante, planificador.quantumPara(listos.size() + 1)) : enCpu.rafagaRestante;
+                ProyectoFinalSimuladorDeProcesos.programarTemporizador(porcion, vencerCpu);
+                Metricas.global.decisionesPlanificador.incrementAndGet();
+                EventoDespacho.registrar(enCpu.pid, planificador.algoritmo, listos.size());
+            }
+            if (!disco.ocupado()) {
+                disco.iniciarServicio(t);
+                if (disco.ocupado()) {
+                    ProyectoFinalSimuladorDeProcesos.programarTemporizador(disco.finServicio - t, vencerDisco);
+                }
+            }
+            
+            if (enCpu == null && !disco.ocupado()) break;
+            // Se salta directo al siguiente instante con trabajo en la rueda de temporizadores
+            while (!cpuVencida && !discoVencido) {
+                long proximo = ProyectoFinalSimuladorDeProcesos.temporizadores.proximoEvento();
+                ProyectoFinalSimuladorDeProcesos.avanzarReloj((int) Math.max(1, 
+                    Math.min(Integer.MAX_VALUE, proximo - ProyectoFinalSimuladorDeProcesos.tiempoGlobal)));
+            }
+            t = ProyectoFinalSimuladorDeProcesos.tiempoGlobal;
+            
+            if (discoVencido) {
+                discoVencido = false;
+                SolicitudES s = disco.completar();
+                s.proceso.tiempoEsperaES += t - s.llegada;
+                s.proceso.instanteListo = t;
+                planificador.despertarPorES(s.proceso, disco.nombre);
+            }
+            
+            if (cpuVencida) {
+                cpuVencida = false;
+                cpuOcupado += porcion;
+                enCpu.rafagaRestante -= porcion;
+                enCpu.tiempoEjecucion -= porcion;
+                if (enCpu.tiempoEjecucion <= 0 || enCpu.rafagaRestante == 0) {
+                    planificador.registrarRafaga(enCpu, enCpu.duracionRafaga - enCpu.rafagaRestante);
+                }
+                if (enCpu.tiempoEjecucion <= 0) {
+                    enCpu.tiempoFinalizacion = t;
+                    enCpu.tiempoRetorno = t - enCpu.tiempoLlegada;
+                    enCpu.terminar(CausaTerminacion.NORMAL);
+                    finalizados.add(enCpu);
+                    pendientes--;
+                } else if (enCpu.rafagaRestante == 0) {
+                    enCpu.operacionesES--;
+                    enCpu.rafagaRestante = enCpu.duracionRafaga = siguienteRafaga(enCpu);
+                    planificador.bloquearPorES(enCpu, disco.nombre);
+                    disco.solicitar(enCpu, random.nextInt(disco.pistas), t);
+                } else {
+                    enCpu.estado = "Listo";
+                    enCpu.instanteListo = t;
+                    listos.offer(enCpu);
+                }
+                enCpu = null;
+            }
+        }
+        fin = t;
+        planificador.usarPrediccionSJF(false);
+    }
+
+    // Método para mostrar los resultados de la simulación con E/S
+    public void mostrarResultados() {
+        Reporte.borde('┌', 90, '┐');
+        Reporte.titulo(" RESULTADOS CPU/E-S - ALGORITMO: " + planificador.algoritmo + " - DISCO: " + disco.politica.name(), 88);
+        Reporte.borde('├', 90, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "PID", 6).append(' ');
+        Reporte.texto(encabezado, "Ciclos", 8).append(' ');
+        Reporte.texto(encabezado, "Finalización", 14).append(' ');
+        Reporte.texto(encabezado, "Espera CPU", 12).append(' ');
+        Reporte.texto(encabezado, "Espera E/S", 12).append(' ');
+        Reporte.texto(encabezado, "Retorno", 10);
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 90, '┤');
+        
+        long totalEspera = 0;
+        long totalEsperaES = 0;
+        long totalRetorno = 0;
+        int mostrados = 0;
+        for (PCB p : finalizados) {
+            totalEspera += p.tiempoEspera;
+            totalEsperaES += p.tiempoEsperaES;
+            totalRetorno += p.tiempoRetorno;
+            if (mostrados++ >= Reporte.TAMANO_PAGINA) continue;
+            StringBuilder fila = Reporte.fila().append("│ ");
+            Reporte.numero(fila, p.pid, 6).append(' ');
+            Reporte.numero(fila, p.tiempoOriginal, 8).append(' ');
+            Reporte.numero(fila, p.tiempoFinalizacion, 14).append(' ');
+            Reporte.numero(fila, p.tiempoEspera, 12).append(' ');
+            Reporte.numero(fila, p.tiempoEsperaES, 12).append(' ');
+            Reporte.numero(fila, p.tiempoRetorno, 10);
+            Reporte.emitir(fila);
+        }
+        
+        int n = Math.max(1, finalizados.size());
+        int duracion = Math.max(1, fin - inicio);
+        Reporte.borde('├', 90, '┤');
+        Reporte.renglon(" Utilización de CPU: " + String.format("%.1f", 100.0 * cpuOcupado / duracion) + "%" +
+            " | Utilización de " + disco.nombre + ": " + String.format("%.1f", 100.0 * disco.tiempoOcupado / duracion) + "%", 88);
+        Reporte.renglon(" Solicitudes atendidas: " + disco.atendidas + " | Pistas recorridas: " + disco.recorridoTotal, 88);
+        Reporte.renglon(" Espera en cola de listos promedio: " + String.format("%.2f", (double) totalEspera / n) + 
+            " | Espera por E/S promedio: " + String.format("%.2f", (double) totalEsperaES / n), 88);
+        Reporte.renglon(" Tiempo de retorno promedio: " + String.format("%.2f", (double) totalRetorno / n) + " unidades", 88);
+        Reporte.borde('└', 90, '┘');
+        Reporte.vaciar();
+    }
+}
+
+class Buffer {
+    final int capacidad;
+    private final int[] elementos;
+    private final long[] marcas;        // Instante de producción de cada elemento, para medir latencia
+    private int cabeza;
+    private int tamano;
+    Semaphore lleno = new Semaphore(0);
+    Semaphore vacio;
+    Semaphore mutex = new Semaphore(1);
+    final Histograma latencia = new Histograma();
+    final Histograma ocupacion = new Histograma();
+    final AtomicLong nsBloqueadoLleno = new AtomicLong();
+    final AtomicLong nsBloqueadoVacio = new AtomicLong();
+
+    public Buffer() {
+        this(5);
+    }
+
+    // Constructor para un buffer circular de capacidad fija
+    public Buffer(int capacidad) {
+        this.capacidad = capacidad;
+        this.elementos = new int[capacidad];
+        this.marcas = new long[capacidad];
+        this.vacio = new Semaphore(capacidad);
+    }
+
+    // Método para producir un elemento en el buffer
+    public void producir(int item) throws InterruptedException {
+        adquirirHasta(vacio, 1, nsBloqueadoLleno, -1);
+        mutex.acquire();
+        encolar(item, System.nanoTime());
+        registrarOcupacion();
+        Log.registrar("PRODUCTOR", "Producido: " + item + " (buffer: " + tamano + "/" + capacidad + ")");
+        mutex.release();
+        lleno.release();
+    }
+
+    // Método para consumir un elemento del buffer
+    public void consumir() throws InterruptedException {
+        adquirirHasta(lleno, 1, nsBloqueadoVacio, -1);
+        mutex.acquire();
+        int item = desencolar(System.nanoTime());
+        registrarOcupacion();
+        Log.registrar("CONSUMIDOR", "Consumido: " + item + " (buffer: " + tamano + "/" + capacidad + ")");
+        mutex.release();
+        vacio.release();
+    }
+
+    // Método para producir un lote: solo bloquea si el buffer está lleno y luego
+    // ocupa de una vez todos los huecos libres que necesite
+    public void producirLote(int[] items, int desde, int cantidad) throws InterruptedException {
+        while (cantidad > 0) {
+            int n = adquirirHasta(vacio, cantidad, nsBloqueadoLleno, -1);
+            long ahora = System.nanoTime();
+            mutex.acquire();
+            for (int i = 0; i < n; i++) {
+                encolar(items[desde + i], ahora);
+            }
+            registrarOcupacion();
+            mutex.release();
+            lleno.release(n);
+            desde += n;
+            cantidad -= n;
+        }
+    }
+
+    // Método para drenar hasta 'maximo' elementos; si el buffer está vacío espera como
+    // máximo 'esperaNs' nanosegundos y devuelve 0 si no llegó ninguno
+    public int drenar(int[] destino, int maximo, long esperaNs) throws InterruptedException {
+        int n = adquirirHasta(lleno, maximo, nsBloqueadoVacio, esperaNs);
+        if (n == 0) return 0;
+        long ahora = System.nanoTime();
+        mutex.acquire();
+        for (int i = 0; i < n; i++) {
+            destino[i] = desencolar(ahora);
+        }
+        registrarOcupacion();
+        mutex.release();
+        vacio.release(n);
+        return n;
+    }
+
+    // Método para tomar entre 1 y 'maximo' permisos: espera por el primero (midiendo
+    // el tiempo bloqueado) y toma los demás solo si ya están disponibles
+    private int adquirirHasta(Semaphore semaforo, int maximo, AtomicLong bloqueado, long esperaNs) 
+            throws InterruptedException {
+        if (!semaforo.tryAcquire()) {
+            EventoEsperaBuffer evento = new EventoEsperaBuffer();
+            evento.begin();
+            long inicio = System.nanoTime();
+            boolean obtenido = true;
+            if (esperaNs < 0) {
+                semaforo.acquire();
+            } else {
+                obtenido = semaforo.tryAcquire(esperaNs, TimeUnit.NANOSECONDS);
+            }
+            bloqueado.addAndGet(System.nanoTime() - inicio);
+            if (evento.shouldCommit()) {
+                evento.operacion = semaforo == vacio ? "Producir (buffer lleno)" : "Consumir (buffer vacío)";
+                evento.obtenido = obtenido;
+                evento.hilosEnEspera = semaforo.getQueueLength();
+                evento.ocupacion = tamano;
+                evento.tiempoVirtual = ProyectoFinalSimuladorDeProcesos.tiempoGlobal;
+                evento.commit();
+            }
+            if (!obtenido) return 0;
+        }
+        int extra = Math.min(maximo - 1, semaforo.availablePermits());
+        if (extra > 0 && semaforo.tryAcquire(extra)) return 1 + extra;
+        return 1;
+    }
+
+    private void encolar(int item, long instante) {
+        int posicion = (cabeza + tamano) % capacidad;
+        elementos[posicion] = item;
+        marcas[posicion] = instante;
+        tamano++;
+    }
+
+    private int desencolar(long instante) {
+        int item = elementos[cabeza];
+        latencia.registrar(instante - marcas[cabeza]);
+        cabeza = (cabeza + 1) % capacidad;
+        tamano--;
+        return item;
+    }
+
+    private void registrarOcupacion() {
+        ocupacion.registrar(tamano);
+        Metricas.global.ocupacionBuffer.registrar(tamano);
+    }
+}
+
+enum ModeloLlegadas {
+    SIMULTANEA,     // Todos los procesos llegan juntos (comportamiento original)
+    POISSON,        // Tiempos entre llegadas exponenciales con tasa constante
+    MMPP            // Poisson modulado por Markov de 2 estados: ráfagas y calma
+}
+
+enum DistribucionRafaga {
+    UNIFORME,
+    EXPONENCIAL,
+    LOGNORMAL,
+    PARETO          // Cola pesada
+}
+
+class GeneradorCarga {
+    ModeloLlegadas llegadas = ModeloLlegadas.POISSON;
+    DistribucionRafaga rafagas = DistribucionRafaga.EXPONENCIAL;
+    double tasaLlegada = 0.5;           // Procesos por unidad de tiempo (POISSON y estado base de MMPP)
+    double tasaRafagaMMPP = 5.0;        // Tasa durante el estado de ráfaga en MMPP
+    double duracionCalmaMMPP = 40.0;    // Duración media del estado base
+    double duracionRafagaMMPP = 5.0;    // Duración media del estado de ráfaga
+    double mediaRafaga = 8.0;
+    double sigmaLognormal = 1.0;
+    double alfaPareto = 1.5;            // alfa <= 2 produce varianza infinita
+    int rafagaMaxima = 10_000;
+    int memoriaMedia = 400;
+    int memoriaMinima = 16;
+    int memoriaMaxima = 2048;
+    double correlacionMemoria = 0.6;    // 0 = independiente de la ráfaga, 1 = proporcional
+    double variabilidadRafagas = 0.5;   // Sigma lognormal de cada ráfaga alrededor de la típica del proceso
+
+    private final SplittableRandom rndLlegadas;
+    private final SplittableRandom rndRafagas;
+    private final SplittableRandom rndMemoria;
+    private final SplittableRandom rndPrioridad;
+    private final SplittableRandom rndSecuencias;
+    private final SplittableRandom rndTiempoReal;
+    private double reloj;
+    private boolean enVivo;
+    private int siguientePid;
+    private boolean enRafaga;
+    private double restanteEnEstado = -1;
+
+    // Constructor que separa un flujo independiente por cada variable aleatoria
+    public GeneradorCarga(long semilla) {
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        this.rndLlegadas = raiz.split();
+        this.rndRafagas = raiz.split();
+        this.rndMemoria = raiz.split();
+        this.rndPrioridad = raiz.split();
+        this.rndSecuencias = raiz.split();
+        this.rndTiempoReal = raiz.split();
+    }
+
+    // Método para que la carga alimente al simulador vivo: los procesos se registran con
+    // PID global y llegan a partir del reloj actual. Por defecto la carga es fuera de línea,
+    // con PID propios desde 1 y reloj desde 0
+    public GeneradorCarga enVivo() {
+        enVivo = true;
+        reloj = ProyectoFinalSimuladorDeProcesos.tiempoGlobal;
+        return this;
+    }
+
+    // Método para generar perezosamente un flujo de procesos; nada se guarda en memoria
+    public Stream<PCB> procesos(long cantidad) {
+        Spliterator<PCB> fuente = new Spliterators.AbstractSpliterator<PCB>(cantidad,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED) {
+            long restantes = cantidad;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super PCB> accion) {
+                if (restantes <= 0) return false;
+                restantes--;
+                accion.accept(siguienteProceso());
+                return true;
+            }
+        };
+        return StreamSupport.stream(fuente, false);
+    }
+
+    // Método para generar el siguiente proceso de la carga
+    public PCB siguienteProceso() {
+        int prioridad = rndPrioridad.nextInt(10) + 1;
+        int rafaga = siguienteRafaga();
+        PCB p;
+        if (enVivo) {
+            if (llegadas == ModeloLlegadas.SIMULTANEA) {
+                p = new PCB(prioridad, rafaga);
+            } else {
+                reloj += siguienteEntreLlegada();
+                p = new PCB(prioridad, rafaga, (int) Math.min(reloj, Integer.MAX_VALUE));
+            }
+        } else {
+            if (llegadas != ModeloLlegadas.SIMULTANEA) reloj += siguienteEntreLlegada();
+            p = PCB.sintetico(++siguientePid, prioridad, rafaga, (int) Math.min(reloj, Integer.MAX_VALUE));
+        }
+        p.memoriaRequerida = memoriaPara(rafaga);
+        return p;
+    }
+
+    // Método para convertir la ráfaga generada en una secuencia de ráfagas de CPU separadas
+    // por E/S. La ráfaga original pasa a ser la duración típica del proceso, de modo que
+    // su historia sirve para predecir la siguiente
+    public void dividirEnRafagas(PCB p, int maxRafagas, double mediaES) {
+        int n = 1 + rndSecuencias.nextInt(maxRafagas);
+        double ajuste = variabilidadRafagas * variabilidadRafagas / 2;
+        p.rafagasCpu = new int[n];
+        p.esperasES = new int[n - 1];
+        int total = 0;
+        for (int k = 0; k < n; k++) {
+            double valor = p.tiempoOriginal * Math.exp(variabilidadRafagas * rndSecuencias.nextGaussian() - ajuste);
+            p.rafagasCpu[k] = (int) Math.max(1, Math.min(rafagaMaxima, Math.round(valor)));
+            total += p.rafagasCpu[k];
+            if (k < n - 1) {
+                p.esperasES[k] = (int) Math.max(1, Math.round(exponencial(rndSecuencias, mediaES)));
+            }
+        }
+        p.tiempoOriginal = total;
+        p.tiempoEjecucion = total;
+    }
+
+    // Método para generar tareas de tiempo real con utilización total dada (UUniFast)
+    // y periodos log-uniformes entre 10 y 1000 unidades
+    public List<PCB> tareasTiempoReal(int cantidad, double utilizacion, double fraccionEsporadicas, boolean plazosRestringidos) {
+        List<PCB> tareas = new ArrayList<>(cantidad);
+        double restante = utilizacion;
+        for (int i = 1; i <= cantidad; i++) {
+            double siguiente = i == cantidad ? 0 : restante * Math.pow(rndTiempoReal.nextDouble(), 1.0 / (cantidad - i));
+            double u = restante - siguiente;
+            restante = siguiente;
+            int periodo = (int) Math.round(Math.exp(Math.log(10) + rndTiempoReal.nextDouble() * Math.log(100)));
+            int costo = (int) Math.max(1, Math.min(periodo, Math.round(u * periodo)));
+            PCB tarea = PCB.sintetico(++siguientePid, 1, costo, 0);
+            tarea.periodo = periodo;
+            tarea.plazoRelativo = plazosRestringidos ? costo + rndTiempoReal.nextInt(periodo - costo + 1) : periodo;
+            tarea.esporadica = rndTiempoReal.nextDouble() < fraccionEsporadicas;
+            tareas.add(tarea);
+        }
+        return tareas;
+    }
+
+    // Método para obtener el tiempo hasta la siguiente llegada
+    private double siguienteEntreLlegada() {
+        if (llegadas == ModeloLlegadas.POISSON) {
+            return exponencial(rndLlegadas, 1.0 / tasaLlegada);
+        }
+        // MMPP: por falta de memoria de la exponencial, al cruzar un cambio de estado
+        // basta con avanzar hasta el cambio y volver a muestrear con la nueva tasa
+        double transcurrido = 0;
+        while (true) {
+            if (restanteEnEstado < 0) {
+                restanteEnEstado = exponencial(rndLlegadas, enRafaga ? duracionRafagaMMPP : duracionCalmaMMPP);
+            }
+            double espera = exponencial(rndLlegadas, 1.0 / (enRafaga ? tasaRafagaMMPP : tasaLlegada));
+            if (espera <= restanteEnEstado) {
+                restanteEnEstado -= espera;
+                return transcurrido + espera;
+            }
+            transcurrido += restanteEnEstado;
+            enRafaga = !enRafaga;
+            restanteEnEstado = -1;
+        }
+    }
+
+    // Método para obtener la duración de la siguiente ráfaga de CPU
+    private int siguienteRafaga() {
+        double valor;
+        switch (rafagas) {
+            case UNIFORME:
+                return rndRafagas.nextInt(20) + 1;
+            case EXPONENCIAL:
+                valor = exponencial(rndRafagas, mediaRafaga);
+                break;
+            case LOGNORMAL:
+                double mu = Math.log(mediaRafaga) - sigmaLognormal * sigmaLognormal / 2;
+                valor = Math.exp(mu + sigmaLognormal * rndRafagas.nextGaussian());
+                break;
+            default:
+                double escala = mediaRafaga * (alfaPareto - 1) / alfaPareto;
+                valor = escala / Math.pow(1.0 - rndRafagas.nextDouble(), 1.0 / alfaPareto);
+                break;
+        }
+        return (int) Math.max(1, Math.min(rafagaMaxima, Math.ceil(valor)));
+    }
+
+    // Método para obtener la memoria del proceso, correlacionada con su ráfaga
+    private int memoriaPara(int rafaga) {
+        if (rafagas == DistribucionRafaga.UNIFORME) {
+            return rndMemoria.nextInt(1000) + 100;
+        }
+        double independiente = Math.exp(0.5 * rndMemoria.nextGaussian() - 0.125);
+        double factor = correlacionMemoria * (rafaga / mediaRafaga) + (1 - correlacionMemoria) * independiente;
+        return (int) Math.max(memoriaMinima, Math.min(memoriaMaxima, Math.round(memoriaMedia * factor)));
+    }
+
+    private static double exponencial(SplittableRandom rnd, double media) {
+        return -Math.log(1.0 - rnd.nextDouble()) * media;
+    }
+}
+
+enum PoliticaRafagas {
+    FCFS("FCFS (referencia)", false),
+    SJF_ORACULO("SJF oráculo", false),
+    SJF_PREDICHO("SJF predicho", false),
+    SRTF_ORACULO("SRTF oráculo", true),
+    SRTF_PREDICHO("SRTF predicho", true);
+    
+    private final String descripcion;
+    final boolean expropiativa;
+    
+    PoliticaRafagas(String descripcion, boolean expropiativa) {
+        this.descripcion = descripcion;
+        this.expropiativa = expropiativa;
+    }
+    
+    @Override
+    public String toString() {
+        return descripcion;
+    }
+}
+
+class SimulacionRafagas {
+    final PCB[] procesos;
+    final PoliticaRafagas politica;
+    final double alfa;
+    final double estimacionInicial;
+    long completados;
+    long sumaEspera;
+    long sumaRetorno;
+    long despachos;
+    long expropiaciones;
+    long rafagasCompletadas;
+    double sumaError;
+    double sumaErrorAbsoluto;
+    double sumaErrorSinHistoria;
+    int fin;
+
+    // Constructor para simular procesos multi-ráfaga con una política; las variantes
+    // "predicho" solo conocen la estimación, las "oráculo" la duración real de la ráfaga
+    public SimulacionRafagas(PCB[] procesos, PoliticaRafagas politica, double alfa, double estimacionInicial) {
+        this.procesos = procesos;
+        this.politica = politica;
+        this.alfa = alfa;
+        this.estimacionInicial = estimacionInicial;
+    }
+
+    // Método para obtener la clave de orden de la cola de listos (menor = primero)
+    private double clave(PCB p) {
+        int consumido = p.rafagasCpu[p.indiceRafaga] - p.rafagaRestante;
+        switch (politica) {
+            case SJF_ORACULO: return p.rafagasCpu[p.indiceRafaga];
+            case SJF_PREDICHO: return p.estimacionRafaga;
+            case SRTF_ORACULO: return p.rafagaRestante;
+            case SRTF_PREDICHO: return Math.max(0, p.estimacionRafaga - consumido);
+            default: return p.instanteListo;
+        }
+    }
+
+    // Método para ejecutar la simulación con reloj propio; instanteListo es el instante
+    // en que el proceso entra (o entrará, tras su E/S) a la cola de listos
+    public void ejecutar() {
+        NucleoDespacho nucleo = new NucleoDespacho(0, procesos.length, i -> clave(procesos[i]));
+        for (int i = 0; i < procesos.length; i++) {
+            PCB p = procesos[i];
+            p.indiceRafaga = 0;
+            p.rafagaRestante = p.rafagasCpu[0];
+            p.estimacionRafaga = estimacionInicial;
+            p.instanteListo = p.tiempoLlegada;
+            p.tiempoEspera = 0;
+            nucleo.programarLlegada(i, p.instanteListo);
+        }
+        
+        int enCpu = -1;
+        int inicioPorcion = 0;
+        int t = 0;
+        while (enCpu >= 0 || nucleo.pendiente()) {
+            PCB actual = enCpu >= 0 ? procesos[enCpu] : null;
+            long finRafaga = actual == null ? Long.MAX_VALUE : inicioPorcion + actual.rafagaRestante;
+            long siguienteLlegada = nucleo.proximaLlegada();
+            if (actual != null && finRafaga <= siguienteLlegada) {
+                t = (int) finRafaga;
+                actual.rafagaRestante = 0;
+                completarRafaga(enCpu, t, nucleo);
+                enCpu = -1;
+            } else if (siguienteLlegada != Long.MAX_VALUE) {
+                t = (int) Math.max(t, siguienteLlegada);
+                nucleo.admitirHasta(t);
+                if (actual != null && politica.expropiativa) {
+                    actual.rafagaRestante -= t - inicioPorcion;
+                    inicioPorcion = t;
+                    if (nucleo.criterioSiguiente() < clave(actual)) {
+                        actual.instanteListo = t;
+                        nucleo.encolar(enCpu);
+                        enCpu = -1;
+                        expropiaciones++;
+                    }
+                }
+            }
+            if (enCpu < 0 && !nucleo.vacio()) {
+                enCpu = nucleo.siguiente();
+                procesos[enCpu].tiempoEspera += t - procesos[enCpu].instanteListo;
+                inicioPorcion = t;
+            }
+        }
+        despachos = nucleo.despachos;
+        fin = t;
+    }
+
+    // Método para cerrar una ráfaga: se mide el error de la predicción, se actualiza la
+    // estimación y el proceso pasa a E/S o termina
+    private void completarRafaga(int i, int t, NucleoDespacho nucleo) {
+        PCB p = procesos[i];
+        int observada = p.rafagasCpu[p.indiceRafaga];
+        double error = p.estimacionRafaga - observada;
+        sumaError += error;
+        sumaErrorAbsoluto += Math.abs(error);
+        sumaErrorSinHistoria += Math.abs(estimacionInicial - observada);
+        rafagasCompletadas++;
+        p.actualizarEstimacion(observada, alfa);
+        
+        if (p.indiceRafaga == p.rafagasCpu.length - 1) {
+            p.tiempoFinalizacion = t;
+            sumaRetorno += t - p.tiempoLlegada;
+            sumaEspera += p.tiempoEspera;
+            completados++;
+            return;
+        }
+        p.instanteListo = t + p.esperasES[p.indiceRafaga];
+        p.indiceRafaga++;
+        p.rafagaRestante = p.rafagasCpu[p.indiceRafaga];
+        nucleo.programarLlegada(i, p.instanteListo);
+    }
+}
+
+class QuantumAdaptativo {
+    final double percentil;
+    final int latenciaObjetivo;
+    final int minimo;
+    final int maximo;
+    int quantum;
+    private final int[] circular;       // Últimas ráfagas en orden de llegada
+    private final int[] ordenado;       // Las mismas, ordenadas, para leer el percentil en O(1)
+    private int tamano;
+    private int siguiente;
+
+    // Constructor para un quantum que sigue el percentil de las últimas ráfagas observadas
+    public QuantumAdaptativo(int inicial, int ventana, double percentil, int latenciaObjetivo, int minimo, int maximo) {
+        this.quantum = inicial;
+        this.circular = new int[ventana];
+        this.ordenado = new int[ventana];
+        this.percentil = percentil;
+        this.latenciaObjetivo = latenciaObjetivo;
+        this.minimo = minimo;
+        this.maximo = maximo;
+    }
+
+    // Método para registrar una ráfaga de CPU completa; la más antigua sale de la ventana
+    void observarRafaga(int duracion) {
+        if (tamano == circular.length) {
+            int indice = Arrays.binarySearch(ordenado, 0, tamano, circular[siguiente]);
+            System.arraycopy(ordenado, indice + 1, ordenado, indice, tamano - indice - 1);
+            tamano--;
+        }
+        circular[siguiente] = duracion;
+        siguiente = (siguiente + 1) % circular.length;
+        int posicion = Arrays.binarySearch(ordenado, 0, tamano, duracion);
+        if (posicion < 0) posicion = -posicion - 1;
+        System.arraycopy(ordenado, posicion, ordenado, posicion + 1, tamano - posicion);
+        ordenado[posicion] = duracion;
+        tamano++;
+    }
+
+    // Método para recalcular el quantum antes de un despacho: el percentil objetivo hace
+    // que esa fracción de ráfagas termine en una sola porción, y con muchos procesos en
+    // cola se acorta para que una vuelta completa no supere la latencia objetivo
+    int ajustar(int enCola) {
+        int objetivo = tamano == 0 ? quantum : ordenado[(int) Math.max(0, Math.ceil(percentil * tamano) - 1)];
+        int porLatencia = latenciaObjetivo / Math.max(1, enCola);
+        quantum = Math.max(minimo, Math.min(maximo, Math.min(objetivo, porLatencia)));
+        return quantum;
+    }
+}
+
+class SimulacionRoundRobin {
+    final PCB[] procesos;
+    final int quantumFijo;
+    final QuantumAdaptativo adaptativo;
+    final int cambioContexto;
+    long completados;
+    long sumaRetorno;
+    long sumaRespuesta;
+    long respuestas;
+    long despachos;
+    long tiempoCpu;
+    long sumaQuantum;
+    int fin;
+    int[] trazaTiempo = new int[64];
+    int[] trazaQuantum = new int[64];
+    int trazaTamano;
+
+    // Constructor para Round Robin con quantum fijo, o adaptativo si 'adaptativo' no es null;
+    // cada despacho cuesta 'cambioContexto' unidades de CPU no útil
+    public SimulacionRoundRobin(PCB[] procesos, int quantumFijo, QuantumAdaptativo adaptativo, int cambioContexto) {
+        this.procesos = procesos;
+        this.quantumFijo = quantumFijo;
+        this.adaptativo = adaptativo;
+        this.cambioContexto = cambioContexto;
+    }
+
+    String nombre() {
+        return adaptativo == null ? "q = " + quantumFijo : "Adaptativo";
+    }
+
+    // Método para ejecutar la carga multi-ráfaga con reloj propio. La respuesta de una
+    // ráfaga es el tiempo desde que el proceso queda listo hasta su primera porción de CPU
+    public void ejecutar() {
+        NucleoDespacho nucleo = NucleoDespacho.paraAlgoritmo("RoundRobin", quantumFijo, procesos.length,
+            i -> procesos[i].rafagaRestante, i -> procesos[i].prioridad);
+        for (int i = 0; i < procesos.length; i++) {
+            PCB p = procesos[i];
+            p.indiceRafaga = 0;
+            p.rafagaRestante = p.rafagasCpu[0];
+            p.instanteListo = p.tiempoLlegada;
+            nucleo.programarLlegada(i, p.instanteListo);
+        }
+        
+        int t = 0;
+        while (nucleo.pendiente()) {
+            nucleo.admitirHasta(t);
+            if (nucleo.vacio()) {
+                t = (int) nucleo.proximaLlegada();
+                continue;
+            }
+            int i = nucleo.siguiente();
+            PCB p = procesos[i];
+            if (p.rafagaRestante == p.rafagasCpu[p.indiceRafaga]) {
+                sumaRespuesta += t - p.instanteListo;
+                respuestas++;
+            }
+            if (adaptativo != null) {
+                nucleo.quantum = adaptativo.ajustar(nucleo.tamano() + 1);
+                trazar(t, nucleo.quantum);
+            }
+            sumaQuantum += nucleo.quantum;
+            int porcion = nucleo.porcion(p.rafagaRestante);
+            t += cambioContexto + porcion;
+            tiempoCpu += porcion;
+            p.rafagaRestante -= porcion;
+            nucleo.admitirHasta(t);
+            if (p.rafagaRestante > 0) {
+                nucleo.encolar(i);
+                continue;
+            }
+            
+            if (adaptativo != null) adaptativo.observarRafaga(p.rafagasCpu[p.indiceRafaga]);
+            if (p.indiceRafaga == p.rafagasCpu.length - 1) {
+                p.tiempoFinalizacion = t;
+                sumaRetorno += t - p.tiempoLlegada;
+                completados++;
+            } else {
+                p.instanteListo = t + p.esperasES[p.indiceRafaga];
+                p.indiceRafaga++;
+                p.rafagaRestante = p.rafagasCpu[p.indiceRafaga];
+                nucleo.programarLlegada(i, p.instanteListo);
+            }
+        }
+        despachos = nucleo.despachos;
+        fin = t;
+    }
+
+    // Método para guardar los cambios de quantum con su instante
+    private void trazar(int t, int quantum) {
+        if (trazaTamano > 0 && trazaQuantum[trazaTamano - 1] == quantum) return;
+        if (trazaTamano == trazaTiempo.length) {
+            trazaTiempo = Arrays.copyOf(trazaTiempo, trazaTamano * 2);
+            trazaQuantum = Arrays.copyOf(trazaQuantum, trazaTamano * 2);
+        }
+        trazaTiempo[trazaTamano] = t;
+        trazaQuantum[trazaTamano++] = quantum;
+    }
+
+    // Método para obtener el quantum vigente en el instante t
+    int quantumEn(int t) {
+        int quantum = trazaTamano == 0 ? quantumFijo : trazaQuantum[0];
+        for (int i = 0; i < trazaTamano && trazaTiempo[i] <= t; i++) quantum = trazaQuantum[i];
+        return quantum;
+    }
+}
+
+class AnalisisTiempoReal {
+    // Método para calcular la densidad Σ C/min(D, T); con plazos iguales al periodo es la utilización
+    static double densidad(List<PCB> tareas) {
+        double total = 0;
+        for (PCB t : tareas) total += (double) t.tiempoOriginal / Math.min(t.plazoRelativo, t.periodo);
+        return total;
+    }
+
+    static double utilizacion(Collection<PCB> tareas) {
+        double total = 0;
+        for (PCB t : tareas) total += (double) t.tiempoOriginal / t.periodo;
+        return total;
+    }
+
+    // Método de análisis de demanda del procesador para EDF con plazos restringidos: en todo
+    // plazo absoluto t hasta la cota L la demanda acumulada Σ (⌊(t - D)/T⌋ + 1)·C no debe superar t.
+    // Si hay que revisar demasiados puntos se rechaza por precaución
+    static boolean demandaProcesador(List<PCB> tareas) {
+        double u = utilizacion(tareas);
+        if (u > 1) return false;
+        long limite = 0;
+        double exceso = 0;
+        for (PCB t : tareas) {
+            limite = Math.max(limite, t.plazoRelativo);
+            exceso += (double) (t.periodo - t.plazoRelativo) * t.tiempoOriginal / t.periodo;
+        }
+        if (u < 1) limite = Math.max(limite, (long) Math.ceil(exceso / (1 - u)));
+        else limite = Long.MAX_VALUE;
+        
+        MonticuloPrimitivo plazos = new MonticuloPrimitivo(tareas.size());
+        for (int i = 0; i < tareas.size(); i++) plazos.insertar(tareas.get(i).plazoRelativo, i);
+        long demanda = 0;
+        for (int puntos = 0; puntos < 10_000_000; puntos++) {
+            if (plazos.vacio() || plazos.claveMinima() > limite) return true;
+            long t = plazos.claveMinima();
+            while (!plazos.vacio() && plazos.claveMinima() == t) {
+                int i = plazos.extraerMinimo();
+                demanda += tareas.get(i).tiempoOriginal;
+                plazos.insertar(t + tareas.get(i).periodo, i);
+            }
+            if (demanda > t) return false;
+        }
+        return false;
+    }
+
+    static boolean plazosImplicitos(List<PCB> tareas) {
+        for (PCB t : tareas) {
+            if (t.plazoRelativo != t.periodo) return false;
+        }
+        return true;
+    }
+
+    // Cota suficiente de Liu y Layland para n tareas Rate-Monotonic: n(2^(1/n) - 1)
+    static double cotaLiuLayland(int n) {
+        return n * (Math.pow(2, 1.0 / n) - 1);
+    }
+
+    // Método para ordenar las tareas por prioridad Rate-Monotonic (menor periodo primero)
+    static List<PCB> ordenRateMonotonic(Collection<PCB> tareas) {
+        List<PCB> ordenadas = new ArrayList<>(tareas);
+        ordenadas.sort(Comparator.comparingInt((PCB t) -> t.periodo).thenComparingInt(t -> t.pid));
+        return ordenadas;
+    }
+
+    // Método de análisis de tiempo de respuesta: R = C + Σ ⌈R/Tj⌉·Cj sobre las tareas de
+    // mayor prioridad, iterado hasta el punto fijo. Devuelve -1 si R supera el plazo
+    static long tiempoRespuesta(List<PCB> ordenadas, int i) {
+        PCB tarea = ordenadas.get(i);
+        long anterior = 0;
+        long respuesta = tarea.tiempoOriginal;
+        while (respuesta != anterior) {
+            if (respuesta > tarea.plazoRelativo) return -1;
+            anterior = respuesta;
+            respuesta = tarea.tiempoOriginal;
+            for (int j = 0; j < i; j++) {
+                PCB mayor = ordenadas.get(j);
+                respuesta += (anterior + mayor.periodo - 1) / mayor.periodo * mayor.tiempoOriginal;
+            }
+        }
+        return respuesta;
+    }
+}
+
+class SimulacionTiempoReal {
+    final PCB[] tareas;
+    final PCB[] mejorEsfuerzo;
+    final boolean edf;
+    final long horizonte;
+    final long semilla;
+    private final int[] rangoRM;
+    private SplittableRandom rnd;
+
+    // Trabajos activos en arreglos paralelos; los índices se reciclan con una pila de libres
+    private int[] trabajoTarea = new int[64];
+    private long[] trabajoLiberacion = new long[64];
+    private long[] trabajoPlazo = new long[64];
+    private int[] trabajoRestante = new int[64];
+    private int[] libres = new int[64];
+    private int numLibres;
+    private int numTrabajos;
+
+    final int[] trabajosPorTarea;
+    final int[] perdidosPorTarea;
+    final long[] respuestaMaxima;
+    final Histograma tardanza = new Histograma();
+    long liberados;
+    long completados;
+    long perdidos;
+    long incompletos;
+    long expropiaciones;
+    long sumaRetraso;
+    long sumaHolgura;
+    long holguraMinima = Long.MAX_VALUE;
+    long tiempoRT;
+    long tiempoBE;
+    long tiempoOcioso;
+    long completadosBE;
+    long sumaRetornoBE;
+
+    // Constructor para simular tareas periódicas/esporádicas con EDF o RMS expropiativo;
+    // los procesos de mejor esfuerzo usan la CPU (FCFS) solo cuando no hay trabajos de tiempo real
+    public SimulacionTiempoReal(List<PCB> tareas, PCB[] mejorEsfuerzo, boolean edf, long horizonte, long semilla) {
+        this.tareas = tareas.toArray(new PCB[0]);
+        this.mejorEsfuerzo = mejorEsfuerzo;
+        this.edf = edf;
+        this.horizonte = horizonte;
+        this.semilla = semilla;
+        this.trabajosPorTarea = new int[this.tareas.length];
+        this.perdidosPorTarea = new int[this.tareas.length];
+        this.respuestaMaxima = new long[this.tareas.length];
+        this.rangoRM = new int[this.tareas.length];
+        Integer[] orden = new Integer[this.tareas.length];
+        for (int i = 0; i < orden.length; i++) orden[i] = i;
+        Arrays.sort(orden, Comparator.comparingInt((Integer i) -> this.tareas[i].periodo).thenComparingInt(i -> this.tareas[i].pid));
+        for (int r = 0; r < orden.length; r++) rangoRM[orden[r]] = r;
+    }
+
+    String nombre() {
+        return edf ? "EDF" : "RMS";
+    }
+
+    // Clave del montículo de listos: plazo absoluto (EDF) o prioridad fija por periodo (RMS)
+    private long clave(int trabajo) {
+        if (edf) return trabajoPlazo[trabajo] << 20 | trabajoTarea[trabajo];
+        return (long) rangoRM[trabajoTarea[trabajo]] << 40 | trabajoLiberacion[trabajo];
+    }
+
+    // Método para ejecutar hasta el horizonte con reloj propio
+    public void ejecutar() {
+        rnd = new SplittableRandom(semilla);
+        MonticuloPrimitivo liberaciones = new MonticuloPrimitivo(tareas.length);
+        MonticuloPrimitivo listos = new MonticuloPrimitivo(tareas.length);
+        for (int i = 0; i < tareas.length; i++) {
+            long fase = tareas[i].esporadica ? rnd.nextInt(tareas[i].periodo) : 0;
+            liberaciones.insertar(fase << 20 | i, i);
+        }
+        for (PCB p : mejorEsfuerzo) p.rafagaRestante = p.tiempoOriginal;
+        ArrayDeque<PCB> colaBE = new ArrayDeque<>();
+        int siguienteBE = 0;
+        
+        int actual = -1;
+        long claveActual = 0;
+        long t = 0;
+        while (t < horizonte) {
+            while (!liberaciones.vacio() && (liberaciones.claveMinima() >>> 20) <= t) {
+                liberar(liberaciones.extraerMinimo(), t, liberaciones, listos);
+            }
+            while (siguienteBE < mejorEsfuerzo.length && mejorEsfuerzo[siguienteBE].tiempoLlegada <= t) {
+                colaBE.offer(mejorEsfuerzo[siguienteBE++]);
+            }
+            if (actual >= 0 && !listos.vacio() && listos.claveMinima() < claveActual) {
+                listos.insertar(claveActual, actual);
+                actual = -1;
+                expropiaciones++;
+            }
+            if (actual < 0 && !listos.vacio()) {
+                claveActual = listos.claveMinima();
+                actual = listos.extraerMinimo();
+            }
+            
+            long proximo = horizonte;
+            if (!liberaciones.vacio()) proximo = Math.min(proximo, liberaciones.claveMinima() >>> 20);
+            if (siguienteBE < mejorEsfuerzo.length) proximo = Math.min(proximo, mejorEsfuerzo[siguienteBE].tiempoLlegada);
+            if (actual >= 0) {
+                long hasta = Math.min(proximo, t + trabajoRestante[actual]);
+                tiempoRT += hasta - t;
+                trabajoRestante[actual] -= (int) (hasta - t);
+                t = hasta;
+                if (trabajoRestante[actual] == 0) {
+                    completar(actual, t);
+                    actual = -1;
+                }
+            } else if (!colaBE.isEmpty()) {
+                PCB p = colaBE.peek();
+                long hasta = Math.min(proximo, t + p.rafagaRestante);
+                tiempoBE += hasta - t;
+                p.rafagaRestante -= (int) (hasta - t);
+                t = hasta;
+                if (p.rafagaRestante == 0) {
+                    colaBE.poll();
+                    completadosBE++;
+                    sumaRetornoBE += t - p.tiempoLlegada;
+                }
+            } else {
+                tiempoOcioso += proximo - t;
+                t = proximo;
+            }
+        }
+        
+        if (actual >= 0) cerrarIncompleto(actual);
+        while (!listos.vacio()) cerrarIncompleto(listos.extraerMinimo());
+    }
+
+    // Método para liberar un trabajo de la tarea y programar su siguiente liberación;
+    // las esporádicas se separan al menos un periodo más un retraso aleatorio
+    private void liberar(int i, long t, MonticuloPrimitivo liberaciones, MonticuloPrimitivo listos) {
+        PCB tarea = tareas[i];
+        int trabajo = nuevoTrabajo();
+        trabajoTarea[trabajo] = i;
+        trabajoLiberacion[trabajo] = t;
+        trabajoPlazo[trabajo] = t + tarea.plazoRelativo;
+        trabajoRestante[trabajo] = tarea.tiempoOriginal;
+        listos.insertar(clave(trabajo), trabajo);
+        liberados++;
+        trabajosPorTarea[i]++;
+        long separacion = tarea.periodo + (tarea.esporadica ? rnd.nextInt(tarea.periodo / 2 + 1) : 0);
+        liberaciones.insertar((t + separacion) << 20 | i, i);
+    }
+
+    private void completar(int trabajo, long t) {
+        int i = trabajoTarea[trabajo];
+        long retraso = t - trabajoPlazo[trabajo];
+        respuestaMaxima[i] = Math.max(respuestaMaxima[i], t - trabajoLiberacion[trabajo]);
+        sumaRetraso += retraso;
+        if (retraso > 0) {
+            perdidos++;
+            perdidosPorTarea[i]++;
+            tardanza.registrar(retraso);
+        } else {
+            sumaHolgura -= retraso;
+            holguraMinima = Math.min(holguraMinima, -retraso);
+        }
+        completados++;
+        liberarTrabajo(trabajo);
+    }
+
+    // Método para contabilizar un trabajo sin terminar al llegar al horizonte: si su plazo
+    // ya venció cuenta como incumplido, si no se descarta de las estadísticas
+    private void cerrarIncompleto(int trabajo) {
+        int i = trabajoTarea[trabajo];
+        if (trabajoPlazo[trabajo] <= horizonte) {
+            incompletos++;
+            perdidos++;
+            perdidosPorTarea[i]++;
+            tardanza.registrar(horizonte - trabajoPlazo[trabajo]);
+        } else {
+            liberados--;
+            trabajosPorTarea[i]--;
+        }
+        liberarTrabajo(trabajo);
+    }
+
+    private int nuevoTrabajo() {
+        if (numLibres > 0) return libres[--numLibres];
+        if (numTrabajos == trabajoTarea.length) {
+            int capacidad = numTrabajos * 2;
+            trabajoTarea = Arrays.copyOf(trabajoTarea, capacidad);
+            trabajoLiberacion = Arrays.copyOf(trabajoLiberacion, capacidad);
+            trabajoPlazo = Arrays.copyOf(trabajoPlazo, capacidad);
+            trabajoRestante = Arrays.copyOf(trabajoRestante, capacidad);
+            libres = Arrays.copyOf(libres, capacidad);
+        }
+        return numTrabajos++;
+    }
+
+    private void liberarTrabajo(int trabajo) {
+        libres[numLibres++] = trabajo;
+    }
+}
+
+enum PoliticaUbicacion {
+    LOCAL_PRIMERO("Local primero"),
+    INTERCALADA("Intercalada"),
+    BALANCEADA("Balanceada");
+    
+    private final String nombre;
+    
+    PoliticaUbicacion(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
+
+class NodoNUMA {
+    final int id;
+    final int cpus;
+    final int memoriaTotal;
+    int memoriaLibre;
+    int cpusLibres;
+
+    // Constructor para un nodo con su propio banco de memoria y sus CPUs
+    public NodoNUMA(int id, int cpus, int memoriaTotal) {
+        this.id = id;
+        this.cpus = cpus;
+        this.memoriaTotal = memoriaTotal;
+        this.memoriaLibre = memoriaTotal;
+        this.cpusLibres = cpus;
+    }
+}
+
+class SimulacionNUMA {
+    static final int VENTANA_AFINIDAD = 4;          // Candidatos que se revisan buscando uno con CPU libre en su nodo
+    static final int MB_POR_UNIDAD_MIGRACION = 64;  // Costo de mover memoria entre nodos
+    final PCB[] procesos;
+    final String algoritmo;
+    final PoliticaUbicacion politica;
+    final int quantum;
+    final int penalizacion;                         // % de tiempo extra si toda la memoria es remota
+    final int costoMigracion;                       // Unidades por ejecutar en un nodo distinto al anterior
+    final NodoNUMA[] nodos;
+    long completados;
+    long sumaRetorno;
+    long migraciones;
+    long mbMigrados;
+    long tiempoUtil;
+    long tiempoPerdido;
+    double sumaRemoto;
+    long fin;
+
+    private int[] restante;
+    private int[] memoria;
+    private int[] ultimoNodo;
+    private int[] nodoPrincipal;                    // Nodo con más memoria del proceso
+    private int[][] mbEnNodo;
+    private NucleoDespacho listos;
+    private int siguienteNodo;
+
+    // Constructor para una máquina de 'numNodos' nodos idénticos con la carga y las políticas dadas
+    public SimulacionNUMA(PCB[] procesos, String algoritmo, PoliticaUbicacion politica, int quantum,
+                          int numNodos, int cpusPorNodo, int mbPorNodo, int penalizacion, int costoMigracion) {
+        this.procesos = procesos;
+        this.algoritmo = algoritmo;
+        this.politica = politica;
+        this.quantum = quantum;
+        this.penalizacion = penalizacion;
+        this.costoMigracion = costoMigracion;
+        this.nodos = new NodoNUMA[numNodos];
+        for (int k = 0; k < numNodos; k++) nodos[k] = new NodoNUMA(k, cpusPorNodo, mbPorNodo);
+    }
+
+    double rendimiento() {
+        return 1000.0 * completados / Math.max(1, fin);
+    }
+
+    // Método para ejecutar la carga con reloj propio; los procesos que no caben en la memoria
+    // de la máquina esperan en orden de llegada
+    public void ejecutar() {
+        int n = procesos.length;
+        restante = new int[n];
+        memoria = new int[n];
+        ultimoNodo = new int[n];
+        nodoPrincipal = new int[n];
+        mbEnNodo = new int[n][nodos.length];
+        listos = NucleoDespacho.paraAlgoritmo(algoritmo, quantum, n, i -> restante[i], i -> procesos[i].prioridad);
+        int capacidad = 0;
+        for (NodoNUMA nodo : nodos) capacidad += nodo.memoriaTotal;
+        
+        Integer[] orden = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+            restante[i] = procesos[i].tiempoOriginal;
+            memoria[i] = Math.max(1, Math.min(procesos[i].memoriaRequerida, capacidad));
+            ultimoNodo[i] = -1;
+        }
+        Arrays.sort(orden, Comparator.comparingInt((Integer i) -> procesos[i].tiempoLlegada));
+        
+        ArrayDeque<Integer> esperandoMemoria = new ArrayDeque<>();
+        MonticuloPrimitivo enEjecucion = new MonticuloPrimitivo(64);
+        int siguiente = 0;
+        long t = 0;
+        while (completados < n) {
+            long proximo = siguiente < n ? procesos[orden[siguiente]].tiempoLlegada : Long.MAX_VALUE;
+            if (!enEjecucion.vacio()) proximo = Math.min(proximo, enEjecucion.claveMinima());
+            t = Math.max(t, proximo);
+            
+            while (!enEjecucion.vacio() && enEjecucion.claveMinima() <= t) {
+                int i = enEjecucion.extraerMinimo();
+                nodos[ultimoNodo[i]].cpusLibres++;
+                if (restante[i] > 0) {
+                    listos.encolar(i);
+                    continue;
+                }
+                completados++;
+                sumaRetorno += t - procesos[i].tiempoLlegada;
+                for (int k = 0; k < nodos.length; k++) nodos[k].memoriaLibre += mbEnNodo[i][k];
+                while (!esperandoMemoria.isEmpty() && ubicarMemoria(esperandoMemoria.peekFirst())) {
+                    listos.encolar(esperandoMemoria.pollFirst());
+                }
+            }
+            while (siguiente < n && procesos[orden[siguiente]].tiempoLlegada <= t) {
+                int i = orden[siguiente++];
+                if (esperandoMemoria.isEmpty() && ubicarMemoria(i)) {
+                    listos.encolar(i);
+                } else {
+                    esperandoMemoria.addLast(i);
+                }
+            }
+            despachar(t, enEjecucion);
+        }
+        fin = t;
+    }
+
+    // Método para repartir la memoria de un proceso entre los nodos según la política
+    private boolean ubicarMemoria(int i) {
+        int libre = 0;
+        for (NodoNUMA nodo : nodos) libre += nodo.memoriaLibre;
+        if (libre < memoria[i]) return false;
+        
+        int resto = memoria[i];
+        int inicial;
+        switch (politica) {
+            case INTERCALADA:
+                // Marco a marco por todos los nodos: el acceso remoto es parejo y predecible
+                for (int k = siguienteNodo; resto > 0; k = (k + 1) % nodos.length) {
+                    int mb = Math.min(Math.min(resto, TablaMarcos.MB_POR_MARCO), nodos[k].memoriaLibre);
+                    asignar(i, k, mb);
+                    resto -= mb;
+                    siguienteNodo = (k + 1) % nodos.length;
+                }
+                break;
+            case LOCAL_PRIMERO:
+                // Primer toque: la memoria queda en el nodo donde se creó el proceso
+                inicial = siguienteNodo;
+                siguienteNodo = (siguienteNodo + 1) % nodos.length;
+                llenarDesde(i, inicial, resto);
+                break;
+            case BALANCEADA:
+                inicial = 0;
+                for (int k = 1; k < nodos.length; k++) {
+                    if (nodos[k].memoriaLibre > nodos[inicial].memoriaLibre) inicial = k;
+                }
+                llenarDesde(i, inicial, resto);
+                break;
+        }
+        nodoPrincipal[i] = principal(i);
+        return true;
+    }
+
+    private void llenarDesde(int i, int inicial, int resto) {
+        for (int d = 0; d < nodos.length && resto > 0; d++) {
+            int k = (inicial + d) % nodos.length;
+            int mb = Math.min(resto, nodos[k].memoriaLibre);
+            asignar(i, k, mb);
+            resto -= mb;
+        }
+    }
+
+    private void asignar(int i, int k, int mb) {
+        mbEnNodo[i][k] += mb;
+        nodos[k].memoriaLibre -= mb;
+    }
+
+    private int principal(int i) {
+        int mejor = 0;
+        for (int k = 1; k < nodos.length; k++) {
+            if (mbEnNodo[i][k] > mbEnNodo[i][mejor]) mejor = k;
+        }
+        return mejor;
+    }
+
+    // Método para ocupar las CPUs libres. Salvo con memoria intercalada se buscan, entre los
+    // primeros candidatos del algoritmo, los que tienen CPU libre en su propio nodo
+    private void despachar(long t, MonticuloPrimitivo enEjecucion) {
+        while (!listos.vacio()) {
+            int nodoLibre = -1;
+            for (int k = 0; k < nodos.length; k++) {
+                if (nodos[k].cpusLibres > 0 && (nodoLibre < 0 || nodos[k].cpusLibres > nodos[nodoLibre].cpusLibres)) nodoLibre = k;
+            }
+            if (nodoLibre < 0) return;
+            
+            boolean afinidad = politica != PoliticaUbicacion.INTERCALADA;
+            int i = listos.elegir(afinidad ? VENTANA_AFINIDAD : 1, c -> nodos[nodoPrincipal[c]].cpusLibres > 0);
+            int nodo;
+            if (afinidad && nodos[nodoPrincipal[i]].cpusLibres > 0) {
+                nodo = nodoPrincipal[i];
+            } else {
+                int anterior = ultimoNodo[i];
+                nodo = anterior >= 0 && nodos[anterior].cpusLibres > 0 ? anterior : nodoLibre;
+            }
+            ejecutarEn(i, nodo, t, enEjecucion);
+        }
+    }
+
+    // Método para ejecutar una porción: la parte de la memoria que es remota al nodo alarga
+    // la porción en proporción a la penalización, y cambiar de nodo cuesta la migración
+    private void ejecutarEn(int i, int k, long t, MonticuloPrimitivo enEjecucion) {
+        nodos[k].cpusLibres--;
+        long costo = 0;
+        if (ultimoNodo[i] >= 0 && ultimoNodo[i] != k) {
+            migraciones++;
+            costo += costoMigracion;
+            if (politica == PoliticaUbicacion.BALANCEADA && penalizacion > 0) costo += migrarMemoria(i, k);
+        }
+        int porcion = listos.porcion(restante[i]);
+        int remoto = memoria[i] - mbEnNodo[i][k];
+        long extra = ((long) porcion * penalizacion * remoto + 100L * memoria[i] - 1) / (100L * memoria[i]);
+        sumaRemoto += (double) porcion * remoto / memoria[i];
+        tiempoUtil += porcion;
+        tiempoPerdido += extra + costo;
+        restante[i] -= porcion;
+        ultimoNodo[i] = k;
+        enEjecucion.insertar(t + porcion + extra + costo, i);
+    }
+
+    // Método para acercar la memoria al nodo donde ahora corre el proceso, hasta donde alcance
+    private long migrarMemoria(int i, int k) {
+        int movidos = 0;
+        for (int j = 0; j < nodos.length && nodos[k].memoriaLibre > 0; j++) {
+            if (j == k) continue;
+            int mb = Math.min(mbEnNodo[i][j], nodos[k].memoriaLibre);
+            mbEnNodo[i][j] -= mb;
+            nodos[j].memoriaLibre += mb;
+            asignar(i, k, mb);
+            movidos += mb;
+        }
+        if (movidos == 0) return 0;
+        nodoPrincipal[i] = principal(i);
+        mbMigrados += movidos;
+        return (movidos + MB_POR_UNIDAD_MIGRACION - 1) / MB_POR_UNIDAD_MIGRACION;
+    }
+}
+
+class MonticuloPrimitivo {
+    private long[] claves;
+    private int[] valores;
+    private int tamano;
+
+    // Constructor para un montículo mínimo de pares (clave long, valor int) sin objetos por elemento
+    public MonticuloPrimitivo(int capacidad) {
+        this.claves = new long[Math.max(capacidad, 16)];
+        this.valores = new int[claves.length];
+    }
+
+    boolean vacio() { return tamano == 0; }
+    int tamano() { return tamano; }
+    long claveMinima() { return claves[0]; }
+    int valorMinimo() { return valores[0]; }
+    void limpiar() { tamano = 0; }
+
+    // Método para insertar un elemento en O(log n)
+    void insertar(long clave, int valor) {
+        if (tamano == claves.length) {
+            claves = Arrays.copyOf(claves, tamano * 2);
+            valores = Arrays.copyOf(valores, tamano * 2);
+        }
+        int i = tamano++;
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (claves[padre] <= clave) break;
+            claves[i] = claves[padre];
+            valores[i] = valores[padre];
+            i = padre;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+    }
+
+    // Método para extraer el elemento de menor clave y devolver su valor
+    int extraerMinimo() {
+        int resultado = valores[0];
+        long clave = claves[--tamano];
+        int valor = valores[tamano];
+        int i = 0;
+        int mitad = tamano >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < tamano && claves[hijo + 1] < claves[hijo]) hijo++;
+            if (clave <= claves[hijo]) break;
+            claves[i] = claves[hijo];
+            valores[i] = valores[hijo];
+            i = hijo;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        return resultado;
+    }
+}
+
+// Núcleo de despacho común a los modelos con reloj propio (escenarios, particiones, ráfagas,
+// Round Robin y NUMA): la cola de llegadas por instante, la cola de listos ordenada por el
+// criterio del algoritmo con desempate por orden de llegada, y la porción de cada despacho.
+// Cada modelo conserva su propio bucle de eventos y sus métricas
+class NucleoDespacho {
+    int quantum;                                    // 0 = cada despacho corre hasta agotar lo restante
+    long despachos;
+    private final IntToDoubleFunction criterio;
+    private final MonticuloPrimitivo llegadas;
+    private double[] criterios;
+    private long[] ordenes;
+    private int[] indices;
+    private int tamano;
+    private long secuencia;
+
+    // Constructor para un núcleo con un criterio propio (menor = primero) sobre índices de procesos
+    public NucleoDespacho(int quantum, int capacidad, IntToDoubleFunction criterio) {
+        this.quantum = quantum;
+        this.criterio = criterio;
+        this.llegadas = new MonticuloPrimitivo(capacidad);
+        this.criterios = new double[Math.max(capacidad, 16)];
+        this.ordenes = new long[criterios.length];
+        this.indices = new int[criterios.length];
+    }
+
+    // Método para crear el núcleo de un algoritmo del simulador: SJF ordena por tiempo restante,
+    // Prioridad por prioridad, FCFS y RoundRobin por orden de llegada; solo RoundRobin usa quantum
+    static NucleoDespacho paraAlgoritmo(String algoritmo, int quantum, int capacidad,
+                                        IntUnaryOperator restante, IntUnaryOperator prioridad) {
+        IntToDoubleFunction criterio;
+        switch (algoritmo) {
+            case "SJF": criterio = restante::applyAsInt; break;
+            case "Prioridad": criterio = prioridad::applyAsInt; break;
+            default: criterio = i -> 0;
+        }
+        return new NucleoDespacho(porTurnos(algoritmo) ? quantum : 0, capacidad, criterio);
+    }
+
+    static boolean porTurnos(String algoritmo) {
+        return algoritmo.equals("RoundRobin");
+    }
+
+    // Método para obtener cuánto corre un proceso en este despacho
+    int porcion(int restante) {
+        return quantum > 0 ? Math.min(restante, quantum) : restante;
+    }
+
+    // Método para programar que un proceso entre a la cola de listos en un instante
+    void programarLlegada(int i, long instante) {
+        llegadas.insertar(instante << 32 | i, i);
+    }
+
+    long proximaLlegada() {
+        return llegadas.vacio() ? Long.MAX_VALUE : llegadas.claveMinima() >>> 32;
+    }
+
+    // Método para pasar a la cola de listos todas las llegadas hasta el instante t
+    void admitirHasta(long t) {
+        while (!llegadas.vacio() && (llegadas.claveMinima() >>> 32) <= t) {
+            encolar(llegadas.extraerMinimo());
+        }
+    }
+
+    boolean pendiente() { return !llegadas.vacio() || tamano > 0; }
+    boolean vacio() { return tamano == 0; }
+    int tamano() { return tamano; }
+    int verSiguiente() { return indices[0]; }
+    double criterioSiguiente() { return criterios[0]; }
+
+    void limpiar() {
+        llegadas.limpiar();
+        tamano = 0;
+        secuencia = 0;
+    }
+
+    // Método para encolar un proceso listo con el criterio que tiene en este momento
+    void encolar(int i) {
+        insertar(criterio.applyAsDouble(i), secuencia++, i);
+    }
+
+    // Método para despachar el siguiente proceso de la cola de listos
+    int siguiente() {
+        despachos++;
+        return extraer();
+    }
+
+    // Método para despachar, entre los primeros 'ventana' candidatos en orden, el primero que
+    // cumpla la preferencia (o el primero si ninguno la cumple); los demás conservan su lugar
+    int elegir(int ventana, IntPredicate preferido) {
+        int vistos = Math.min(ventana, tamano);
+        double[] c = new double[vistos];
+        long[] o = new long[vistos];
+        int[] v = new int[vistos];
+        int elegido = 0;
+        for (int k = 0; k < vistos; k++) {
+            c[k] = criterios[0];
+            o[k] = ordenes[0];
+            v[k] = extraer();
+            if (preferido.test(v[k])) {
+                elegido = k;
+                vistos = k + 1;
+                break;
+            }
+        }
+        for (int k = 0; k < vistos; k++) {
+            if (k != elegido) insertar(c[k], o[k], v[k]);
+        }
+        despachos++;
+        return v[elegido];
+    }
+
+    private static boolean antes(double c1, long o1, double c2, long o2) {
+        return c1 < c2 || (c1 == c2 && o1 < o2);
+    }
+
+    private void insertar(double c, long o, int valor) {
+        if (tamano == criterios.length) {
+            criterios = Arrays.copyOf(criterios, tamano * 2);
+            ordenes = Arrays.copyOf(ordenes, tamano * 2);
+            indices = Arrays.copyOf(indices, tamano * 2);
+        }
+        int i = tamano++;
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!antes(c, o, criterios[padre], ordenes[padre])) break;
+            criterios[i] = criterios[padre];
+            ordenes[i] = ordenes[padre];
+            indices[i] = indices[padre];
+            i = padre;
+        }
+        criterios[i] = c;
+        ordenes[i] = o;
+        indices[i] = valor;
+    }
+
+    private int extraer() {
+        int resultado = indices[0];
+        int ultimo = --tamano;
+        double c = criterios[ultimo];
+        long o = ordenes[ultimo];
+        int valor = indices[ultimo];
+        int i = 0;
+        int mitad = tamano >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < tamano && antes(criterios[hijo + 1], ordenes[hijo + 1], criterios[hijo], ordenes[hijo])) hijo++;
+            if (!antes(criterios[hijo], ordenes[hijo], c, o)) break;
+            criterios[i] = criterios[hijo];
+            ordenes[i] = ordenes[hijo];
+            indices[i] = indices[hijo];
+            i = hijo;
+        }
+        criterios[i] = c;
+        ordenes[i] = o;
+        indices[i] = valor;
+        return resultado;
+    }
+}
+
+class ParticionSimulacion {
+    static final int LLEGADA = 0;
+    static final int MENSAJE = 1;
+    static final int FIN_CPU = 2;
+
+    final int id;
+    final String algoritmo;
+    final int quantum;
+    final int latencia;
+    final int memoriaTotal;
+    int n;
+    int[] llegada, rafaga, prioridad, sucesor, pendientesIniciales, memoria;
+    int[] restante, pendientes, finalizacion, bloqueo;
+
+    final MonticuloPrimitivo eventos = new MonticuloPrimitivo(1024);
+    final NucleoDespacho listos;
+    private int ejecutando = -1;
+    private int porcionActual;
+    private long finPorcion;
+    long tiempoOcupado;
+    long eventosProcesados;
+    long completados;
+
+    // Memoria de la partición: un proceso la retiene desde que queda listo hasta que termina;
+    // si no alcanza espera bloqueado en orden de llegada y se despierta al liberarse
+    int memoriaLibre;
+    private int[] esperaMemoria;
+    private int inicioEspera, finEspera;
+    long bloqueosMemoria;
+    long tiempoEsperaMemoria;
+
+    // Bandeja de mensajes hacia otros procesos (ordinal global y tiempo de entrega)
+    int[] salidaDestino = new int[64];
+    int[] salidaTiempo = new int[64];
+    int salidaTamano;
+
+    // Constructor para una partición con su propia CPU, cola de listos y memoria
+    public ParticionSimulacion(int id, int capacidad, String algoritmo, int quantum, int latencia, int memoriaTotal) {
+        this.id = id;
+        this.algoritmo = algoritmo;
+        this.quantum = quantum;
+        this.latencia = latencia;
+        this.memoriaTotal = memoriaTotal;
+        this.listos = NucleoDespacho.paraAlgoritmo(algoritmo, quantum, 1024, i -> restante[i], i -> prioridad[i]);
+        llegada = new int[capacidad];
+        rafaga = new int[capacidad];
+        prioridad = new int[capacidad];
+        sucesor = new int[capacidad];
+        pendientesIniciales = new int[capacidad];
+        memoria = new int[capacidad];
+        restante = new int[capacidad];
+        pendientes = new int[capacidad];
+        finalizacion = new int[capacidad];
+        bloqueo = new int[capacidad];
+        esperaMemoria = new int[capacidad];
+    }
+
+    static long clave(long tiempo, int tipo, int indice) {
+        return tiempo << 32 | (long) tipo << 30 | indice;
+    }
+
+    static long tiempoDe(long clave) {
+        return clave >>> 32;
+    }
+
+    // Método para restaurar el estado inicial antes de cada corrida
+    void reiniciar() {
+        eventos.limpiar();
+        listos.limpiar();
+        ejecutando = -1;
+        tiempoOcupado = eventosProcesados = completados = 0;
+        bloqueosMemoria = tiempoEsperaMemoria = 0;
+        memoriaLibre = memoriaTotal;
+        inicioEspera = finEspera = 0;
+        salidaTamano = 0;
+        for (int i = 0; i < n; i++) {
+            restante[i] = rafaga[i];
+            pendientes[i] = pendientesIniciales[i];
+            finalizacion[i] = -1;
+            eventos.insertar(clave(llegada[i], LLEGADA, i), i);
+        }
+    }
+
+    long proximoEvento() {
+        return eventos.vacio() ? Long.MAX_VALUE : tiempoDe(eventos.claveMinima());
+    }
+
+    // Método para acotar por debajo el instante del próximo mensaje que puede emitir la
+    // partición si no recibe otros: solo se emite al terminar un proceso con sucesor, y
+    // cualquier proceso que no sea el de la porción en curso necesita al menos una unidad más
+    long cotaEmision() {
+        if (ejecutando >= 0) {
+            boolean emiteAlTerminar = restante[ejecutando] == porcionActual && sucesor[ejecutando] >= 0;
+            return emiteAlTerminar ? finPorcion : finPorcion + 1;
+        }
+        long proximo = proximoEvento();
+        return proximo == Long.MAX_VALUE ? Long.MAX_VALUE : proximo + 1;
+    }
+
+    // Método para procesar todos los eventos con tiempo menor al límite de la ventana
+    void procesarHasta(long limite) {
+        while (!eventos.vacio() && tiempoDe(eventos.claveMinima()) < limite) {
+            procesarInstante();
+        }
+    }
+
+    // Método para procesar todos los eventos del instante más próximo y despachar la CPU
+    void procesarInstante() {
+        long t = tiempoDe(eventos.claveMinima());
+        while (!eventos.vacio() && tiempoDe(eventos.claveMinima()) == t) {
+            int tipo = (int) (eventos.claveMinima() >>> 30) & 3;
+            int i = eventos.extraerMinimo();
+            eventosProcesados++;
+            if (tipo == FIN_CPU) {
+                finCpu(i, (int) t);
+            } else if (--pendientes[i] == 0) {
+                admitir(i, (int) t);
+            }
+        }
+        despachar((int) t);
+    }
+
+    // Método para recibir un mensaje de otra partición
+    void recibirMensaje(int indice, int tiempo) {
+        eventos.insertar(clave(tiempo, MENSAJE, indice), indice);
+    }
+
+    // Método para pasar a listos un proceso cuyas dependencias se cumplieron; sin memoria
+    // suficiente (o si ya hay otros esperando, para no adelantarlos) queda bloqueado
+    private void admitir(int i, int t) {
+        if (inicioEspera == finEspera && memoria[i] <= memoriaLibre) {
+            memoriaLibre -= memoria[i];
+            listos.encolar(i);
+            return;
+        }
+        bloqueo[i] = t;
+        esperaMemoria[finEspera++] = i;
+        bloqueosMemoria++;
+    }
+
+    // Método para despertar, en orden de llegada, a los bloqueados que ya caben en memoria
+    private void despertar(int t) {
+        while (inicioEspera < finEspera && memoria[esperaMemoria[inicioEspera]] <= memoriaLibre) {
+            int i = esperaMemoria[inicioEspera++];
+            memoriaLibre -= memoria[i];
+            tiempoEsperaMemoria += t - bloqueo[i];
+            listos.encolar(i);
+        }
+    }
+
+    private void despachar(int t) {
+        if (ejecutando >= 0 || listos.vacio()) return;
+        int i = listos.siguiente();
+        ejecutando = i;
+        porcionActual = listos.porcion(restante[i]);
+        finPorcion = (long) t + porcionActual;
+        eventos.insertar(clave(finPorcion, FIN_CPU, i), i);
+    }
+
+    private void finCpu(int i, int t) {
+        restante[i] -= porcionActual;
+        tiempoOcupado += porcionActual;
+        ejecutando = -1;
+        if (restante[i] > 0) {
+            listos.encolar(i);
+            return;
+        }
+        finalizacion[i] = t;
+        completados++;
+        memoriaLibre += memoria[i];
+        despertar(t);
+        if (sucesor[i] >= 0) {
+            if (salidaTamano == salidaDestino.length) {
+                salidaDestino = Arrays.copyOf(salidaDestino, salidaTamano * 2);
+                salidaTiempo = Arrays.copyOf(salidaTiempo, salidaTamano * 2);
+            }
+            salidaDestino[salidaTamano] = sucesor[i];
+            salidaTiempo[salidaTamano++] = t + latencia;
+        }
+    }
+}
+
+// Modelo independiente del simulador vivo: cada partición es una CPU con su propia cola, su
+// propia memoria (con bloqueo y despertar) y su propio motor de eventos; no usa el Planificador
+// ni el Recurso global. Sirve para medir cuánto se acelera una simulación conservadora por
+// ventanas frente a la secuencial. La memoria no se comparte entre particiones: solo los
+// mensajes cruzan de una a otra, y de eso depende la cota de las ventanas
+class SimulacionParticionada {
+    final ParticionSimulacion[] particiones;
+    final int latencia;
+    long cantidad;
+    long ventanas;
+    private volatile long finVentana;
+
+    // Constructor para dividir la máquina en particiones con una CPU y 'memoria' MB cada una
+    // (0 = sin límite de memoria)
+    public SimulacionParticionada(int numParticiones, long cantidad, String algoritmo, int quantum, int latencia, int memoria) {
+        if (latencia < 1) throw new IllegalArgumentException("La latencia (lookahead) debe ser al menos 1");
+        long capacidad = (cantidad + numParticiones - 1) / numParticiones;
+        if (capacidad >= 1 << 30) throw new IllegalArgumentException("Demasiados procesos por partición: " + capacidad);
+        this.latencia = latencia;
+        this.cantidad = cantidad;
+        particiones = new ParticionSimulacion[numParticiones];
+        for (int i = 0; i < numParticiones; i++) {
+            particiones[i] = new ParticionSimulacion(i, (int) capacidad, algoritmo, quantum, latencia, 
+                memoria == 0 ? Integer.MAX_VALUE : memoria);
+        }
+    }
+
+    // Método para cargar la carga de trabajo: el proceso k va a la partición k % P.
+    // Con probabilidad probDependencia un proceso espera el mensaje de fin de uno anterior
+    void cargar(Stream<PCB> procesos, double probDependencia, long semilla) {
+        SplittableRandom rnd = new SplittableRandom(semilla);
+        int P = particiones.length;
+        long[] k = {0};
+        procesos.forEach(p -> {
+            long ordinal = k[0]++;
+            ParticionSimulacion destino = particiones[(int) (ordinal % P)];
+            int i = destino.n++;
+            destino.llegada[i] = p.tiempoLlegada;
+            destino.rafaga[i] = p.tiempoOriginal;
+            destino.prioridad[i] = p.prioridad;
+            destino.sucesor[i] = -1;
+            destino.pendientesIniciales[i] = 1;
+            // Un proceso más grande que la partición se recorta para que nunca espere para siempre
+            destino.memoria[i] = Math.min(p.memoriaRequerida, destino.memoriaTotal);
+            if (ordinal > 0 && rnd.nextDouble() < probDependencia) {
+                long previo = ordinal - 1 - rnd.nextInt((int) Math.min(ordinal, 2L * P));
+                ParticionSimulacion origen = particiones[(int) (previo % P)];
+                int j = (int) (previo / P);
+                if (origen.sucesor[j] < 0) {
+                    origen.sucesor[j] = (int) ordinal;
+                    destino.pendientesIniciales[i]++;
+                }
+            }
+        });
+        cantidad = k[0];
+    }
+
+    // Método para entregar los mensajes pendientes de una partición a sus destinos
+    private void entregar(ParticionSimulacion origen) {
+        int P = particiones.length;
+        for (int m = 0; m < origen.salidaTamano; m++) {
+            int destino = origen.salidaDestino[m];
+            particiones[destino % P].recibirMensaje(destino / P, origen.salidaTiempo[m]);
+        }
+        origen.salidaTamano = 0;
+    }
+
+    // Método de referencia: simulación secuencial clásica con un solo reloj global
+    void ejecutarSecuencial() {
+        for (ParticionSimulacion p : particiones) p.reiniciar();
+        while (true) {
+            ParticionSimulacion siguiente = null;
+            long tMin = Long.MAX_VALUE;
+            for (ParticionSimulacion p : particiones) {
+                long t = p.proximoEvento();
+                if (t < tMin) {
+                    tMin = t;
+                    siguiente = p;
+                }
+            }
+            if (siguiente == null) return;
+            siguiente.procesarInstante();
+            entregar(siguiente);
+        }
+    }
+
+    // Método para ejecutar las particiones en paralelo con sincronización conservadora:
+    // la ventana termina en min(cota de emisión) + latencia, así que ningún mensaje enviado
+    // dentro de ella puede entregarse antes de que termine. Si un hilo falla se rompe la
+    // barrera para liberar a los demás y el error se relanza
+    void ejecutarParalelo(int hilos) throws InterruptedException {
+        for (ParticionSimulacion p : particiones) p.reiniciar();
+        ventanas = 0;
+        int numHilos = Math.max(1, Math.min(hilos, particiones.length));
+        sincronizar();
+        CyclicBarrier barrera = new CyclicBarrier(numHilos, this::sincronizar);
+        AtomicReference<Throwable> fallo = new AtomicReference<>();
+        Thread[] trabajadores = new Thread[numHilos];
+        for (int h = 0; h < numHilos; h++) {
+            int primero = h;
+            trabajadores[h] = new Thread(() -> {
+                try {
+                    while (finVentana != Long.MAX_VALUE) {
+                        for (int i = primero; i < particiones.length; i += numHilos) {
+                            particiones[i].procesarHasta(finVentana);
+                        }
+                        barrera.await();
+                    }
+                } catch (InterruptedException e) {
+                    barrera.reset();
+                    Thread.currentThread().interrupt();
+                } catch (BrokenBarrierException e) {
+                    // Otro hilo falló o fue interrumpido; su error es el que se informa
+                } catch (RuntimeException | Error e) {
+                    fallo.compareAndSet(null, e);
+                    barrera.reset();
+                }
+            }, "particion-" + h);
+            trabajadores[h].start();
+        }
+        for (Thread t : trabajadores) t.join();
+        if (fallo.get() != null) {
+            throw new IllegalStateException("Falló una partición de la simulación paralela", fallo.get());
+        }
+    }
+
+    // Acción de la barrera: entrega los mensajes y calcula la siguiente ventana segura
+    private void sincronizar() {
+        long cota = Long.MAX_VALUE;
+        for (ParticionSimulacion p : particiones) entregar(p);
+        for (ParticionSimulacion p : particiones) cota = Math.min(cota, p.cotaEmision());
+        finVentana = cota == Long.MAX_VALUE ? Long.MAX_VALUE : cota + latencia;
+        ventanas++;
+    }
+
+    // Método para copiar los tiempos de finalización de todos los procesos
+    int[][] resultados() {
+        int[][] copia = new int[particiones.length][];
+        for (int i = 0; i < particiones.length; i++) {
+            copia[i] = Arrays.copyOf(particiones[i].finalizacion, particiones[i].n);
+        }
+        return copia;
+    }
+
+    long eventosProcesados() {
+        long total = 0;
+        for (ParticionSimulacion p : particiones) total += p.eventosProcesados;
+        return total;
+    }
+}
+
+class TablaProcesosCOW {
+    static final int PID = 0;
+    static final int LLEGADA = 1;
+    static final int ORIGINAL = 2;
+    static final int RESTANTE = 3;
+    static final int PRIORIDAD = 4;
+    static final int FINALIZACION = 5;
+    static final int ESTADO = 6;
+    static final int MEMORIA = 7;                   // MB propios que se liberan al terminar
+    static final int TOKEN_CPU = 8;                 // 1 si tiene la CPU del gestor de recursos
+    static final int ESPERA_MB = 9;                 // MB que espera del gestor (-1 = no espera recursos)
+    static final int ESPERA_CPU = 10;               // 1 si además espera la CPU del gestor
+    static final int DESPIERTA = 11;                // Instante de su próximo temporizador (-1 = ninguno)
+    static final int CAMPOS = 12;
+    static final int LISTO = 0;
+    static final int BLOQUEADO = 1;                 // Bloqueado o dormido
+    static final int SUSPENDIDO = 2;
+    static final int ESPERA_REINGRESO = 3;          // Reanudado, esperando memoria para salir del intercambio
+    private static final int BITS = 5;
+    private static final int ANCHO = 1 << BITS;
+    private static final int MASCARA = ANCHO - 1;
+
+    // Nodo del trie: interno (hijos) u hoja (campos de 32 procesos). Solo la tabla
+    // dueña puede modificarlo en sitio; cualquier otra debe copiarlo antes de escribir
+    private static final class Nodo {
+        final Object dueno;
+        final Nodo[] hijos;
+        final int[] datos;
+
+        Nodo(Object dueno, Nodo[] hijos, int[] datos) {
+            this.dueno = dueno;
+            this.hijos = hijos;
+            this.datos = datos;
+        }
+    }
+
+    private Nodo raiz;
+    private int desplazamiento;
+    private int tamano;
+    private Object dueno = new Object();
+    long nodosCopiados;
+    int memoriaLibre = Integer.MAX_VALUE / 2;       // Estado del gestor de recursos al capturar
+    boolean cpuLibre = true;
+
+    // Constructor para una tabla vacía con una sola hoja
+    public TablaProcesosCOW() {
+        this.raiz = new Nodo(dueno, null, new int[ANCHO * CAMPOS]);
+    }
+
+    private TablaProcesosCOW(Nodo raiz, int desplazamiento, int tamano) {
+        this.raiz = raiz;
+        this.desplazamiento = desplazamiento;
+        this.tamano = tamano;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    // Método para bifurcar la tabla en O(1): ambas comparten todo el trie y ninguna
+    // es ya dueña de sus nodos, así que cada una copia solo los caminos que escribe
+    TablaProcesosCOW bifurcar() {
+        dueno = new Object();
+        TablaProcesosCOW copia = new TablaProcesosCOW(raiz, desplazamiento, tamano);
+        copia.memoriaLibre = memoriaLibre;
+        copia.cpuLibre = cpuLibre;
+        return copia;
+    }
+
+    // Método para leer un campo del proceso en la posición i
+    int obtener(int i, int campo) {
+        Nodo n = raiz;
+        for (int s = desplazamiento; s > 0; s -= BITS) {
+            n = n.hijos[(i >>> s) & MASCARA];
+        }
+        return n.datos[(i & MASCARA) * CAMPOS + campo];
+    }
+
+    // Método para escribir un campo; copia los nodos compartidos del camino (O(log32 n))
+    void poner(int i, int campo, int valor) {
+        Nodo n = raiz = propio(raiz);
+        for (int s = desplazamiento; s > 0; s -= BITS) {
+            int k = (i >>> s) & MASCARA;
+            n = n.hijos[k] = propio(n.hijos[k]);
+        }
+        n.datos[(i & MASCARA) * CAMPOS + campo] = valor;
+    }
+
+    // Método para añadir un proceso listo que no retiene recursos al final de la tabla
+    void agregar(int pid, int llegada, int original, int restante, int prioridad) {
+        agregar(pid, llegada, original, restante, prioridad, LISTO, 0, false, -1, false, -1);
+    }
+
+    // Método para añadir un proceso con su estado y su relación con el gestor de recursos
+    void agregar(int pid, int llegada, int original, int restante, int prioridad, int estado,
+                 int memoria, boolean tokenCpu, int esperaMb, boolean esperaCpu, long despierta) {
+        if (tamano == (long) ANCHO << desplazamiento) {
+            Nodo nuevaRaiz = new Nodo(dueno, new Nodo[ANCHO], null);
+            nuevaRaiz.hijos[0] = raiz;
+            raiz = nuevaRaiz;
+            desplazamiento += BITS;
+        }
+        int i = tamano++;
+        Nodo n = raiz = propio(raiz);
+        for (int s = desplazamiento; s > 0; s -= BITS) {
+            int k = (i >>> s) & MASCARA;
+            if (n.hijos[k] == null) {
+                n.hijos[k] = s == BITS ? new Nodo(dueno, null, new int[ANCHO * CAMPOS]) : new Nodo(dueno, new Nodo[ANCHO], null);
+            }
+            n = n.hijos[k] = propio(n.hijos[k]);
+        }
+        int base = (i & MASCARA) * CAMPOS;
+        n.datos[base + PID] = pid;
+        n.datos[base + LLEGADA] = llegada;
+        n.datos[base + ORIGINAL] = original;
+        n.datos[base + RESTANTE] = restante;
+        n.datos[base + PRIORIDAD] = prioridad;
+        n.datos[base + FINALIZACION] = -1;
+        n.datos[base + ESTADO] = estado;
+        n.datos[base + MEMORIA] = memoria;
+        n.datos[base + TOKEN_CPU] = tokenCpu ? 1 : 0;
+        n.datos[base + ESPERA_MB] = esperaMb;
+        n.datos[base + ESPERA_CPU] = esperaCpu ? 1 : 0;
+        n.datos[base + DESPIERTA] = (int) Math.min(despierta, Integer.MAX_VALUE);
+    }
+
+    // Método para contar los procesos capturados en un estado
+    int contar(int estado) {
+        int total = 0;
+        for (int i = 0; i < tamano; i++) {
+            if (obtener(i, ESTADO) == estado) total++;
+        }
+        return total;
+    }
+
+    // Método para obtener el número total de nodos del trie
+    long nodosTotales() {
+        long nivel = (tamano + MASCARA) >>> BITS;
+        long total = Math.max(1, nivel);
+        for (int s = desplazamiento; s > 0; s -= BITS) {
+            nivel = (nivel + MASCARA) >>> BITS;
+            total += Math.max(1, nivel);
+        }
+        return total;
+    }
+
+    private Nodo propio(Nodo n) {
+        if (n.dueno == dueno) return n;
+        nodosCopiados++;
+        return new Nodo(dueno, n.hijos == null ? null : n.hijos.clone(), n.datos == null ? null : n.datos.clone());
+    }
+}
+
+class RamaSimulacion {
+    final String algoritmo;
+    final int quantum;
+    final TablaProcesosCOW tabla;
+    final long instante;
+    long completados;
+    long sinCompletar;
+    long sumaRetorno;
+    long sumaEspera;
+    long despachos;
+    long tiempoFinal;
+    long nsEjecucion;
+    private int memoriaLibre;
+    private boolean cpuLibre;
+    private int[] esperando = new int[16];          // Procesos a la espera del gestor de recursos
+    private int numEsperando;
+
+    // Constructor para una rama que continúa desde una tabla bifurcada con otra política
+    public RamaSimulacion(String algoritmo, int quantum, TablaProcesosCOW tabla, long instante) {
+        this.algoritmo = algoritmo;
+        this.quantum = quantum;
+        this.tabla = tabla;
+        this.instante = instante;
+    }
+
+    String nombre() {
+        return NucleoDespacho.porTurnos(algoritmo) ? "RR q=" + quantum : algoritmo;
+    }
+
+    // Método para simular hasta que terminen todos los procesos que pueden avanzar. Los
+    // dormidos y bloqueados con temporizador entran al vencer; los que esperan al gestor de
+    // recursos, cuando otro proceso libera lo que necesitan; los suspendidos no avanzan
+    void ejecutar() {
+        long inicio = System.nanoTime();
+        int n = tabla.tamano();
+        NucleoDespacho nucleo = NucleoDespacho.paraAlgoritmo(algoritmo, quantum, n,
+            i -> tabla.obtener(i, TablaProcesosCOW.RESTANTE), i -> tabla.obtener(i, TablaProcesosCOW.PRIORIDAD));
+        memoriaLibre = tabla.memoriaLibre;
+        cpuLibre = tabla.cpuLibre;
+        for (int i = 0; i < n; i++) {
+            if (tabla.obtener(i, TablaProcesosCOW.RESTANTE) <= 0) continue;
+            int estado = tabla.obtener(i, TablaProcesosCOW.ESTADO);
+            int despierta = tabla.obtener(i, TablaProcesosCOW.DESPIERTA);
+            if (estado == TablaProcesosCOW.LISTO) {
+                nucleo.programarLlegada(i, Math.max(instante, tabla.obtener(i, TablaProcesosCOW.LLEGADA)));
+            } else if (tabla.obtener(i, TablaProcesosCOW.ESPERA_MB) >= 0) {
+                if (numEsperando == esperando.length) esperando = Arrays.copyOf(esperando, numEsperando * 2);
+                esperando[numEsperando++] = i;
+            } else if (estado == TablaProcesosCOW.BLOQUEADO && despierta >= 0) {
+                nucleo.programarLlegada(i, Math.max(instante, despierta));
+            }
+        }
+        
+        long reloj = instante;
+        while (nucleo.pendiente() || proximoVencimiento() != Long.MAX_VALUE) {
+            if (nucleo.vacio()) reloj = Math.max(reloj, Math.min(nucleo.proximaLlegada(), proximoVencimiento()));
+            despertar(nucleo, reloj, false);
+            nucleo.admitirHasta(reloj);
+            if (nucleo.vacio()) continue;
+            int i = nucleo.siguiente();
+            int restante = tabla.obtener(i, TablaProcesosCOW.RESTANTE);
+            int porcion = nucleo.porcion(restante);
+            reloj += porcion;
+            restante -= porcion;
+            tabla.poner(i, TablaProcesosCOW.RESTANTE, restante);
+            nucleo.admitirHasta(reloj);
+            if (restante > 0) {
+                nucleo.encolar(i);
+                continue;
+            }
+            tabla.poner(i, TablaProcesosCOW.FINALIZACION, (int) reloj);
+            long retorno = reloj - tabla.obtener(i, TablaProcesosCOW.LLEGADA);
+            sumaRetorno += retorno;
+            sumaEspera += retorno - tabla.obtener(i, TablaProcesosCOW.ORIGINAL);
+            completados++;
+            tiempoFinal = reloj;
+            memoriaLibre += tabla.obtener(i, TablaProcesosCOW.MEMORIA);
+            if (tabla.obtener(i, TablaProcesosCOW.TOKEN_CPU) == 1) cpuLibre = true;
+            despertar(nucleo, reloj, true);
+        }
+        despachos = nucleo.despachos;
+        for (int i = 0; i < n; i++) {
+            if (tabla.obtener(i, TablaProcesosCOW.RESTANTE) > 0) sinCompletar++;
+        }
+        nsEjecucion = System.nanoTime() - inicio;
+    }
+
+    private long proximoVencimiento() {
+        long proximo = Long.MAX_VALUE;
+        for (int k = 0; k < numEsperando; k++) {
+            int despierta = tabla.obtener(esperando[k], TablaProcesosCOW.DESPIERTA);
+            if (despierta >= 0) proximo = Math.min(proximo, Math.max(instante, despierta));
+        }
+        return proximo;
+    }
+
+    // Método para pasar a listos, en orden de captura, a quienes vencen su espera o, tras una
+    // liberación, encuentran lo que esperaban; como el gestor vivo, desbloquear no reserva
+    // recursos, salvo el reingreso desde el intercambio, que vuelve a ocupar su memoria
+    private void despertar(NucleoDespacho nucleo, long reloj, boolean huboLiberacion) {
+        int quedan = 0;
+        for (int k = 0; k < numEsperando; k++) {
+            int i = esperando[k];
+            int despierta = tabla.obtener(i, TablaProcesosCOW.DESPIERTA);
+            int mb = tabla.obtener(i, TablaProcesosCOW.ESPERA_MB);
+            boolean vencido = despierta >= 0 && Math.max(instante, despierta) <= reloj;
+            boolean atendido = huboLiberacion && mb <= memoriaLibre && 
+                (tabla.obtener(i, TablaProcesosCOW.ESPERA_CPU) == 0 || cpuLibre);
+            if (!vencido && !atendido) {
+                esperando[quedan++] = i;
+                continue;
+            }
+            if (atendido && tabla.obtener(i, TablaProcesosCOW.ESTADO) == TablaProcesosCOW.ESPERA_REINGRESO) {
+                memoriaLibre -= mb;
+                tabla.poner(i, TablaProcesosCOW.MEMORIA, mb);
+            }
+            nucleo.programarLlegada(i, reloj);
+        }
+        numEsperando = quedan;
+    }
+}
+
+public class ProyectoFinalSimuladorDeProcesos {
+    static Scanner sc = new Scanner(System.in);
+    static Recurso recurso = new Recurso();
+    static Planificador planificador;
+    static int tiempoGlobal = 0;
+    static RuedaTemporizadores temporizadores = new RuedaTemporizadores();
+    static final String[] MENSAJES_PREDEFINIDOS = {
+        "Solicitar recurso",
+        "Liberar recurso",
+        "Prioridad aumentada",
+        "Prioridad disminuida",
+        "Ejecutar tarea de I/O",
+        "Terminar ejecución"
+    };
+
+    // Método principal para iniciar el simulador
+    public static void main(String[] args) {
+        System.out.println("====== SIMULADOR DE GESTOR DE PROCESOS ======");
+        System.out.println("\nSeleccione un algoritmo de planificación:");
+        System.out.println("1. FCFS (First Come First Served)");
+        System.out.println("2. SJF (Shortest Job First)");
+        System.out.println("3. Round Robin");
+        System.out.println("4. Prioridad");
+        System.out.println("5. Round Robin con quantum adaptativo");
+        
+        int opcion = leerEnteroConRango("Seleccione una opción: ", 1, 5);
+        String algoritmo = "";
+        int quantum = 2; 
+        
+        switch (opcion) {
+            case 1: algoritmo = "FCFS"; break;
+            case 2: algoritmo = "SJF"; break;
+            case 3: 
+                algoritmo = "RoundRobin"; 
+                quantum = leerEnteroConRango("Quantum para Round Robin (en unidades): ", 1, 10);
+                break;
+            case 4: algoritmo = "Prioridad"; break;
+            case 5:
+                algoritmo = "RoundRobin";
+                quantum = leerEnteroConRango("Quantum inicial (en unidades): ", 1, 10);
+                break;
+        }
+        
+        planificador = new Planificador(algoritmo, quantum);
+        if (opcion == 5) {
+            // Mismo rango 1-10 que el quantum fijo; la ventana y el percentil siguen las
+            // ráfagas de los procesos que van terminando
+            planificador.quantumAdaptativo = new QuantumAdaptativo(quantum, 16, 0.8, 40, 1, 10);
+            Log.registrar("PLANIFICADOR", "Quantum adaptativo: percentil 80 de las últimas 16 ráfagas");
+        }
+        Log.registrar("SISTEMA", "Simulador iniciado con algoritmo " + algoritmo);
+        
+        // Las métricas se publican siempre por JMX; el volcado CSV es opcional
+        Metricas.registrarJmx();
+        String rutaCsv = System.getProperty("simulador.metricas.csv");
+        if (rutaCsv != null) {
+            Metricas.global.iniciarVolcadoCsv(rutaCsv, Long.getLong("simulador.metricas.periodo", 1000));
+        }
+        String rutaJfr = System.getProperty("simulador.jfr");
+        if (rutaJfr != null) {
+            Metricas.iniciarGrabacionJfr(rutaJfr);
+        }
+        
+        System.out.println("\n====== MODO DE EJECUCIÓN ======");
+        System.out.println("1. Modo Manual (Ir al menú principal)");
+        System.out.println("2. Modo Automático (Generar simulación con datos aleatorios)");
+        
+        int modoEjecucion = leerEnteroConRango("Seleccione modo de ejecución: ", 1, 2);
+        
+        if (modoEjecucion == 1) {
+            mostrarMenuPrincipal();
+        } else {
+            ejecutarSimulacionAutomatica();
+        }
+    }
+
+    // Método para mostrar el menú principal
+    static void mostrarMenuPrincipal() {
+        while (true) {
+            System.out.println("\n====== MENÚ PRINCIPAL ======");
+            System.out.println("1. Crear Proceso");
+            System.out.println("2. Listar Procesos");
+            System.out.println("3. Estado de Recursos");
+            System.out.println("4. Estado de Colas de Planificación");
+            System.out.println("5. Ejecutar Proceso");
+            System.out.println("6. Suspender/Continuar Proceso");
+            System.out.println("7. Terminar Proceso");
+            System.out.println("8. Enviar mensaje entre procesos");
+            System.out.println("9. Leer mensajes de un proceso");
+            System.out.println("10. Demostración Productor-Consumidor");
+            System.out.println("11. Mostrar Procesos Bloqueados");
+            System.out.println("12. Métricas del Simulador");
+            System.out.println("13. Modelo de simulación paralela particionada");
+            System.out.println("14. Ejecutar con Dispositivos de E/S");
+            System.out.println("15. Temporizadores (dormir, esperas con límite)");
+            System.out.println("16. Comparar escenarios desde el estado actual");
+            System.out.println("17. Predicción de ráfagas (SJF/SRTF sin conocer la duración)");
+            System.out.println("18. Round Robin adaptativo frente a quantum fijo");
+            System.out.println("19. Tiempo real (modelo EDF/RMS con control de admisión)");
+            System.out.println("20. Intercambio (swap) y política de suspensión");
+            System.out.println("21. Fork y memoria compartida");
+            System.out.println("22. NUMA: ubicación de memoria y CPU");
+            System.out.println("23. Salir");
+            
+            int op = leerEnteroConRango("Seleccione una opción: ", 1, 23);
+            switch (op) {
+                case 1: crearProceso(); break;
+                case 2: listarProcesos(); break;
+                case 3: mostrarEstadoRecursos(); break;
+                case 4: planificador.mostrarEstadoColas(); break;
+                case 5: ejecutarProceso(); break;
+                case 6: suspenderContinuar(); break;
+                case 7: terminarProceso(); break;
+                case 8: enviarMensaje(); break;
+                case 9: leerMensajes(); break;
+                case 10: ejecutarProdCons(); break;
+                case 11: mostrarProcesosBloqueados(); break;
+                case 12: Metricas.global.mostrar(); break;
+                case 13: ejecutarSimulacionParalela(); break;
+                case 14: ejecutarConES(); break;
+                case 15: gestionarTemporizadores(); break;
+                case 16: compararEscenarios(); break;
+                case 17: experimentoPrediccionRafagas(); break;
+                case 18: experimentoQuantumAdaptativo(); break;
+                case 19: experimentoTiempoReal(); break;
+                case 20: configurarIntercambio(); break;
+                case 21: gestionarMemoriaCompartida(); break;
+                case 22: experimentoNUMA(); break;
+                case 23: 
+                    Log.registrar("SISTEMA", "Finalizando simulador");
+                    return;
+            }
+            
+            planificador.archivarTerminados();
+            planificador.actualizarColas();
+        }
+    }
+
+    // Método para ejecutar una simulación automática
+    static void ejecutarSimulacionAutomatica() {
+        System.out.println("\n====== SIMULACIÓN AUTOMÁTICA ======");
+        Log.registrar("SISTEMA", "Iniciando simulación automática con algoritmo " + planificador.algoritmo);
+        
+        long semilla = leerEnteroConRango("Semilla (0 = aleatoria): ", 0, Integer.MAX_VALUE);
+        if (semilla == 0) semilla = System.nanoTime();
+        Log.registrar("SISTEMA", "Semilla de la carga: " + semilla);
+        
+        GeneradorCarga carga = configurarCarga(semilla).enVivo();
+        Random random = new Random(semilla);
+        int numProcesos = random.nextInt(11) + 5;
+        
+        System.out.println("\n=== Generando " + numProcesos + " procesos (" + carga.llegadas + ", " + carga.rafagas + ") ===");
+        
+        // Los procesos quedan registrados con su instante de llegada; el reloj no se adelanta
+        // aquí sino al despacharlos, para que los temporizadores del intervalo se disparen
+        carga.procesos(numProcesos).forEach(p -> {
+            planificador.agregarProceso(p);
+            
+            if (random.nextBoolean()) {
+                if (!recurso.solicitar(p, p.memoriaRequerida)) {
+                    Log.registrar("RECURSO", "No se pudieron asignar recursos al PID " + p.pid);
+                }
+            }
+            
+            Log.registrar("PROCESO", "Proceso creado: PID " + p.pid + 
+                         ", Prioridad " + p.prioridad + 
+                         ", Tiempo " + p.tiempoEjecucion +
+                         ", Llegada " + p.tiempoLlegada);
+        });
+        
+        System.out.println("\n=== Estado inicial de procesos ===");
+        planificador.mostrarProcesos();
+        
+        System.out.println("\n=== Estado inicial de recursos ===");
+        mostrarEstadoRecursos();
+        
+        System.out.println("\n=== Estado inicial de colas ===");
+        planificador.mostrarEstadoColas();
+        
+        System.out.println("\n=== Enviando mensajes aleatorios entre procesos ===");
+        int numMensajes = random.nextInt(5) + 2;
+        for (int i = 0; i < numMensajes; i++) {
+            if (planificador.listaProcesos.size() >= 2) {
+                int indiceOrigen = random.nextInt(planificador.listaProcesos.size());
+                int indiceDestino = random.nextInt(planificador.listaProcesos.size());
+                
+                while (indiceOrigen == indiceDestino) {
+                    indiceDestino = random.nextInt(planificador.listaProcesos.size());
+                }
+                
+                PCB origen = planificador.listaProcesos.get(indiceOrigen);
+                PCB destino = planificador.listaProcesos.get(indiceDestino);
+                
+                String mensaje = MENSAJES_PREDEFINIDOS[random.nextInt(MENSAJES_PREDEFINIDOS.length)];
+                origen.enviarMensaje(destino.pid, mensaje);
+            }
+        }
+        
+        if (random.nextBoolean()) {
+            System.out.println("\n=== Simulando situación de interbloqueo ===");
+            simularInterbloqueo();
+        }
+        
+        System.out.println("\n=== Ejecutando procesos con algoritmo " + planificador.algoritmo + " ===");
+        ejecutarProceso();
+        planificador.archivarTerminados();
+        
+        System.out.println("\n=== Estado final de procesos ===");
+        planificador.mostrarProcesos();
+        
+        System.out.println("\n=== Estado final de recursos ===");
+        mostrarEstadoRecursos();
+        
+        System.out.println("\n====== FIN DE LA SIMULACIÓN AUTOMÁTICA ======");
+        System.out.println("\nPresione Enter para salir...");
+        sc.nextLine();
+        Log.registrar("SISTEMA", "Finalizando simulador");
+    }
+
+    // Método para elegir el modelo de llegadas y la distribución de ráfagas de la carga
+    static GeneradorCarga configurarCarga(long semilla) {
+        System.out.println("\nTipo de carga de trabajo:");
+        System.out.println("1. Uniforme (todos llegan a la vez, ráfagas 1-20)");
+        System.out.println("2. Llegadas Poisson, ráfagas exponenciales");
+        System.out.println("3. Llegadas Poisson, ráfagas lognormales");
+        System.out.println("4. Llegadas en ráfagas (MMPP), ráfagas Pareto de cola pesada");
+        
+        GeneradorCarga generador = new GeneradorCarga(semilla);
+        switch (leerEnteroConRango("Seleccione una opción: ", 1, 4)) {
+            case 1:
+                generador.llegadas = ModeloLlegadas.SIMULTANEA;
+                generador.rafagas = DistribucionRafaga.UNIFORME;
+                break;
+            case 2:
+                generador.rafagas = DistribucionRafaga.EXPONENCIAL;
+                break;
+            case 3:
+                generador.rafagas = DistribucionRafaga.LOGNORMAL;
+                break;
+            case 4:
+                generador.llegadas = ModeloLlegadas.MMPP;
+                generador.rafagas = DistribucionRafaga.PARETO;
+                break;
+        }
+        return generador;
+    }
+
+    // Método para comparar la simulación secuencial con la paralela por particiones
+    static void ejecutarSimulacionParalela() {
+        // Cada proceso ocupa once enteros por partición más el espacio de los montículos
+        int maximo = (int) Math.min(50_000_000, Runtime.getRuntime().maxMemory() / 108);
+        long cantidad = leerEnteroConRango("Número de procesos a simular (máximo " + maximo + " con esta memoria): ", 1, maximo);
+        int numParticiones = leerEnteroConRango("Número de particiones (CPU independientes): ", 1, 64);
+        int hilos = leerEnteroConRango("Hilos para la corrida paralela (núcleos disponibles: " + 
+            Runtime.getRuntime().availableProcessors() + "): ", 1, 64);
+        int latencia = leerEnteroConRango("Latencia mínima de mensajes entre particiones (lookahead): ", 1, 1000);
+        int memoria = leerEnteroConRango("Memoria por partición (MB, 0 = sin límite): ", 0, 1_048_576);
+        long semilla = leerEnteroConRango("Semilla: ", 1, Integer.MAX_VALUE);
+        
+        // La tasa de llegada se escala con las particiones para mantener cada CPU al ~80% de uso
+        GeneradorCarga carga = new GeneradorCarga(semilla);
+        carga.tasaLlegada = numParticiones * 0.1;
+        SimulacionParticionada simulacion = new SimulacionParticionada(numParticiones, cantidad, 
+            planificador.algoritmo, planificador.quantum, latencia, memoria);
+        simulacion.cargar(carga.procesos(cantidad), 0.2, semilla);
+        Log.registrar("SISTEMA", "Carga generada: " + simulacion.cantidad + " procesos en " + numParticiones + " particiones");
+        
+        long inicio = System.nanoTime();
+        simulacion.ejecutarSecuencial();
+        long nsSecuencial = System.nanoTime() - inicio;
+        int[][] referencia = simulacion.resultados();
+        long eventos = simulacion.eventosProcesados();
+        
+        inicio = System.nanoTime();
+        try {
+            simulacion.ejecutarParalelo(hilos);
+        } catch (InterruptedException e) {
+            Log.registrar("ERROR", "Simulación paralela interrumpida");
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IllegalStateException e) {
+            Log.registrar("ERROR", e.getMessage() + ": " + e.getCause());
+            return;
+        }
+        long nsParalelo = System.nanoTime() - inicio;
+        boolean identicos = Arrays.deepEquals(referencia, simulacion.resultados());
+        
+        Reporte.borde('┌', 70, '┐');
+        Reporte.titulo(" MODELO DE SIMULACIÓN PARALELA - " + planificador.algoritmo, 68);
+        Reporte.renglonCerrado(" Motor propio por partición: CPU, cola y memoria (sin Planificador)", 68);
+        Reporte.borde('├', 70, '┤');
+        Reporte.renglonCerrado(" Eventos procesados: " + eventos + " en " + simulacion.ventanas + " ventanas (" + 
+            eventos / Math.max(1, simulacion.ventanas) + " por ventana)", 68);
+        Reporte.renglonCerrado(" Secuencial: " + nsSecuencial / 1_000_000 + " ms | Paralelo (" + hilos + " hilos): " + 
+            nsParalelo / 1_000_000 + " ms", 68);
+        Reporte.renglonCerrado(" Aceleración medida: " + String.format("%.2f", (double) nsSecuencial / Math.max(1, nsParalelo)) + 
+            "x con " + Runtime.getRuntime().availableProcessors() + " núcleos disponibles", 68);
+        Reporte.renglonCerrado(" Resultados idénticos a la corrida secuencial: " + (identicos ? "Sí" : "NO"), 68);
+        Reporte.borde('├', 70, '┤');
+        long sumaEspera = 0;
+        long sumaRetorno = 0;
+        long tiempoFinal = 0;
+        long bloqueos = 0;
+        long esperaMemoria = 0;
+        for (ParticionSimulacion p : simulacion.particiones) {
+            bloqueos += p.bloqueosMemoria;
+            esperaMemoria += p.tiempoEsperaMemoria;
+            for (int i = 0; i < p.n; i++) {
+                sumaRetorno += p.finalizacion[i] - p.llegada[i];
+                sumaEspera += p.finalizacion[i] - p.llegada[i] - p.rafaga[i];
+                tiempoFinal = Math.max(tiempoFinal, p.finalizacion[i]);
+            }
+        }
+        for (ParticionSimulacion p : simulacion.particiones) {
+            if (p.id == Reporte.TAMANO_PAGINA) break;
+            Reporte.renglonCerrado(" Partición " + p.id + ": " + p.completados + " procesos, uso de CPU " + 
+                (tiempoFinal == 0 ? 0 : p.tiempoOcupado * 100 / tiempoFinal) + "%", 68);
+        }
+        Reporte.renglonCerrado(" Tiempo de espera promedio: " + String.format("%.2f", (double) sumaEspera / simulacion.cantidad) + " unidades", 68);
+        Reporte.renglonCerrado(" Tiempo de retorno promedio: " + String.format("%.2f", (double) sumaRetorno / simulacion.cantidad) + " unidades", 68);
+        Reporte.renglonCerrado(" Bloqueos por memoria: " + bloqueos + " | Espera promedio por bloqueo: " + 
+            String.format("%.2f", (double) esperaMemoria / Math.max(1, bloqueos)), 68);
+        Reporte.borde('└', 70, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para bifurcar el estado y continuar cada copia con otra política en paralelo
+    static void compararEscenarios() {
+        System.out.println("\n¿Desde qué estado se bifurca?");
+        System.out.println("1. Estado actual del simulador");
+        System.out.println("2. Carga sintética (para probar con muchos procesos)");
+        
+        TablaProcesosCOW base;
+        long instante = tiempoGlobal;
+        long inicio;
+        boolean desdeSimulador = leerEnteroConRango("Seleccione una opción: ", 1, 2) == 1;
+        if (desdeSimulador) {
+            inicio = System.nanoTime();
+            base = planificador.capturarEstado(recurso);
+        } else {
+            int cantidad = leerEnteroConRango("Número de procesos: ", 1, 10_000_000);
+            GeneradorCarga carga = configurarCarga(leerEnteroConRango("Semilla: ", 1, Integer.MAX_VALUE));
+            TablaProcesosCOW tabla = new TablaProcesosCOW();
+            inicio = System.nanoTime();
+            carga.procesos(cantidad).forEach(p -> 
+                tabla.agregar(p.pid, p.tiempoLlegada, p.tiempoOriginal, p.tiempoEjecucion, p.prioridad));
+            base = tabla;
+        }
+        long nsCaptura = System.nanoTime() - inicio;
+        if (base.tamano() == 0) {
+            System.out.println("No hay procesos vivos para comparar");
+            return;
+        }
+        
+        int numEscenarios = leerEnteroConRango("Número de escenarios a comparar: ", 2, 8);
+        String[] algoritmos = new String[numEscenarios];
+        int[] quantums = new int[numEscenarios];
+        for (int k = 0; k < numEscenarios; k++) {
+            System.out.println("\nEscenario " + (k + 1) + ": 1. FCFS  2. SJF  3. Round Robin  4. Prioridad");
+            quantums[k] = planificador.quantum;
+            switch (leerEnteroConRango("Seleccione una opción: ", 1, 4)) {
+                case 1: algoritmos[k] = "FCFS"; break;
+                case 2: algoritmos[k] = "SJF"; break;
+                case 3: 
+                    algoritmos[k] = "RoundRobin"; 
+                    quantums[k] = leerEnteroConRango("Quantum para Round Robin (en unidades): ", 1, 100);
+                    break;
+                case 4: algoritmos[k] = "Prioridad"; break;
+            }
+        }
+        
+        RamaSimulacion[] ramas = new RamaSimulacion[numEscenarios];
+        inicio = System.nanoTime();
+        for (int k = 0; k < numEscenarios; k++) {
+            ramas[k] = new RamaSimulacion(algoritmos[k], quantums[k], base.bifurcar(), instante);
+        }
+        long nsBifurcacion = System.nanoTime() - inicio;
+        Log.registrar("SISTEMA", "Estado de " + base.tamano() + " procesos bifurcado en " + numEscenarios + " escenarios");
+        
+        Thread[] hilos = new Thread[numEscenarios];
+        for (int k = 0; k < numEscenarios; k++) {
+            hilos[k] = new Thread(ramas[k]::ejecutar, "escenario-" + (k + 1));
+            hilos[k].start();
+        }
+        try {
+            for (Thread hilo : hilos) hilo.join();
+        } catch (InterruptedException e) {
+            Log.registrar("ERROR", "Comparación de escenarios interrumpida");
+            Thread.currentThread().interrupt();
+            return;
+        }
+        
+        Reporte.borde('┌', 90, '┐');
+        Reporte.titulo(" COMPARACIÓN DE ESCENARIOS (" + base.tamano() + " procesos desde t=" + instante + ")", 88);
+        Reporte.borde('├', 90, '┤');
+        Reporte.renglon(" Captura del estado: " + nsCaptura / 1_000_000 + " ms | Bifurcación de " + numEscenarios + 
+            " escenarios: " + nsBifurcacion / 1000 + " µs (" + base.nodosTotales() + " nodos compartidos)", 88);
+        if (desdeSimulador) {
+            Reporte.renglon(" Capturados: " + base.contar(TablaProcesosCOW.LISTO) + " listos/en ejecución, " + 
+                base.contar(TablaProcesosCOW.BLOQUEADO) + " bloqueados/dormidos, " + 
+                (base.contar(TablaProcesosCOW.SUSPENDIDO) + base.contar(TablaProcesosCOW.ESPERA_REINGRESO)) + " suspendidos", 88);
+            Reporte.renglon(" Gestor de recursos al capturar: " + base.memoriaLibre + "MB de RAM libres, CPU " + 
+                (base.cpuLibre ? "libre" : "ocupada"), 88);
+        }
+        Reporte.borde('├', 90, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "Escenario", 14);
+        Reporte.texto(encabezado, "Completados", 12);
+        Reporte.texto(encabezado, "Retorno prom", 13);
+        Reporte.texto(encabezado, "Espera prom", 13);
+        Reporte.texto(encabezado, "Fin (t)", 12);
+        Reporte.texto(encabezado, "Despachos", 11);
+        Reporte.texto(encabezado, "Nodos copiados", 14).append('│');
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 90, '┤');
+        for (RamaSimulacion rama : ramas) {
+            StringBuilder fila = Reporte.fila().append("│ ");
+            Reporte.texto(fila, rama.nombre(), 14);
+            Reporte.numero(fila, rama.completados, 12);
+            Reporte.texto(fila, String.format("%.2f", (double) rama.sumaRetorno / Math.max(1, rama.completados)), 13);
+            Reporte.texto(fila, String.format("%.2f", (double) rama.sumaEspera / Math.max(1, rama.completados)), 13);
+            Reporte.numero(fila, rama.tiempoFinal, 12);
+            Reporte.numero(fila, rama.despachos, 11);
+            Reporte.numero(fila, rama.tabla.nodosCopiados, 14).append('│');
+            Reporte.emitir(fila);
+        }
+        Reporte.borde('├', 90, '┤');
+        for (RamaSimulacion rama : ramas) {
+            Reporte.renglon(" " + rama.nombre() + ": simulado en " + rama.nsEjecucion / 1_000_000 + " ms" + 
+                (rama.sinCompletar > 0 ? ", " + rama.sinCompletar + " sin completar (suspendidos o esperas sin salida)" : ""), 88);
+        }
+        Reporte.renglon(" El estado del simulador no se modifica: cada escenario trabaja sobre su propia copia", 88);
+        Reporte.borde('└', 90, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para comparar SJF/SRTF con ráfagas predichas contra el oráculo que conoce
+    // la duración exacta, sobre la misma carga multi-ráfaga
+    static void experimentoPrediccionRafagas() {
+        int cantidad = leerEnteroConRango("Número de procesos: ", 1, 1_000_000);
+        int maxRafagas = leerEnteroConRango("Máximo de ráfagas de CPU por proceso: ", 1, 100);
+        int mediaES = leerEnteroConRango("Duración media de cada E/S entre ráfagas: ", 1, 10_000);
+        double alfa = leerEnteroConRango("Alfa del promedio exponencial (0-100 %): ", 0, 100) / 100.0;
+        int estimacionInicial = leerEnteroConRango("Estimación inicial τ0: ", 1, 10_000);
+        long semilla = leerEnteroConRango("Semilla: ", 1, Integer.MAX_VALUE);
+        GeneradorCarga carga = configurarCarga(semilla);
+        
+        PCB[] procesos = carga.procesos(cantidad).toArray(PCB[]::new);
+        for (PCB p : procesos) carga.dividirEnRafagas(p, maxRafagas, mediaES);
+        Log.registrar("SISTEMA", "Carga multi-ráfaga generada: " + procesos.length + " procesos");
+        
+        PoliticaRafagas[] politicas = PoliticaRafagas.values();
+        SimulacionRafagas[] corridas = new SimulacionRafagas[politicas.length];
+        for (int k = 0; k < politicas.length; k++) {
+            corridas[k] = new SimulacionRafagas(procesos, politicas[k], alfa, estimacionInicial);
+            corridas[k].ejecutar();
+        }
+        
+        Reporte.borde('┌', 90, '┐');
+        Reporte.titulo(" PREDICCIÓN DE RÁFAGAS - α = " + String.format("%.2f", alfa) + ", τ0 = " + estimacionInicial, 88);
+        Reporte.borde('├', 90, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "Política", 20);
+        Reporte.texto(encabezado, "Espera prom", 15);
+        Reporte.texto(encabezado, "Retorno prom", 15);
+        Reporte.texto(encabezado, "Despachos", 13);
+        Reporte.texto(encabezado, "Expropiaciones", 16);
+        Reporte.texto(encabezado, "Fin (t)", 10).append('│');
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 90, '┤');
+        for (SimulacionRafagas c : corridas) {
+            long n = Math.max(1, c.completados);
+            StringBuilder fila = Reporte.fila().append("│ ");
+            Reporte.texto(fila, c.politica.toString(), 20);
+            Reporte.texto(fila, String.format("%.2f", (double) c.sumaEspera / n), 15);
+            Reporte.texto(fila, String.format("%.2f", (double) c.sumaRetorno / n), 15);
+            Reporte.numero(fila, c.despachos, 13);
+            Reporte.numero(fila, c.expropiaciones, 16);
+            Reporte.numero(fila, c.fin, 10).append('│');
+            Reporte.emitir(fila);
+        }
+        Reporte.borde('├', 90, '┤');
+        
+        // El error de predicción no depende de la política: cada proceso ve sus propias ráfagas
+        SimulacionRafagas referencia = corridas[0];
+        long rafagas = Math.max(1, referencia.rafagasCompletadas);
+        Reporte.renglon(" Ráfagas observadas: " + referencia.rafagasCompletadas + " | Error absoluto medio: " + 
+            String.format("%.2f", referencia.sumaErrorAbsoluto / rafagas) + " (sin historia, solo τ0: " + 
+            String.format("%.2f", referencia.sumaErrorSinHistoria / rafagas) + ")", 88);
+        Reporte.renglon(" Sesgo medio (predicción - real): " + String.format("%+.2f", referencia.sumaError / rafagas), 88);
+        Reporte.renglon(" Ventaja sobre FCFS que conserva SJF predicho: " + ventajaConservada(corridas[0], corridas[1], corridas[2]), 88);
+        Reporte.renglon(" Ventaja sobre FCFS que conserva SRTF predicho: " + ventajaConservada(corridas[0], corridas[3], corridas[4]), 88);
+        Reporte.borde('└', 90, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para calcular qué fracción de la mejora del oráculo sobre FCFS obtiene la predicción
+    private static String ventajaConservada(SimulacionRafagas base, SimulacionRafagas oraculo, SimulacionRafagas predicho) {
+        double mejoraOraculo = base.sumaEspera - oraculo.sumaEspera;
+        if (mejoraOraculo <= 0) return "N/A (el oráculo no mejora a FCFS en esta carga)";
+        return String.format("%.1f", 100.0 * (base.sumaEspera - predicho.sumaEspera) / mejoraOraculo) + "%";
+    }
+
+    // Método para comparar Round Robin adaptativo con varios quantum fijos sobre la misma carga
+    static void experimentoQuantumAdaptativo() {
+        int cantidad = leerEnteroConRango("Número de procesos: ", 1, 1_000_000);
+        int maxRafagas = leerEnteroConRango("Máximo de ráfagas de CPU por proceso: ", 1, 100);
+        int mediaES = leerEnteroConRango("Duración media de cada E/S entre ráfagas: ", 1, 10_000);
+        int cambioContexto = leerEnteroConRango("Costo de cada cambio de contexto (unidades): ", 0, 10);
+        double percentil = leerEnteroConRango("Percentil objetivo de ráfagas (50-99): ", 50, 99) / 100.0;
+        int ventana = leerEnteroConRango("Tamaño de la ventana de ráfagas: ", 4, 4096);
+        int latencia = leerEnteroConRango("Latencia objetivo de una vuelta completa: ", 1, 1_000_000);
+        long semilla = leerEnteroConRango("Semilla: ", 1, Integer.MAX_VALUE);
+        GeneradorCarga carga = configurarCarga(semilla);
+        
+        PCB[] procesos = carga.procesos(cantidad).toArray(PCB[]::new);
+        for (PCB p : procesos) carga.dividirEnRafagas(p, maxRafagas, mediaES);
+        
+        // Piso del quantum: con q >= 4 cambios de contexto la sobrecarga no pasa del 20%
+        int minimo = Math.max(1, 4 * cambioContexto);
+        int[] fijos = {1, 2, 5, 10, 20, 50, 100};
+        SimulacionRoundRobin[] corridas = new SimulacionRoundRobin[fijos.length + 1];
+        for (int k = 0; k < fijos.length; k++) {
+            corridas[k] = new SimulacionRoundRobin(procesos, fijos[k], null, cambioContexto);
+        }
+        corridas[fijos.length] = new SimulacionRoundRobin(procesos, 0, 
+            new QuantumAdaptativo(Math.max(minimo, planificador.quantum), ventana, percentil, latencia, minimo, 1000), cambioContexto);
+        for (SimulacionRoundRobin c : corridas) c.ejecutar();
+        
+        Reporte.borde('┌', 90, '┐');
+        Reporte.titulo(" ROUND ROBIN ADAPTATIVO - " + procesos.length + " procesos, cambio de contexto = " + cambioContexto, 88);
+        Reporte.borde('├', 90, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "Quantum", 12);
+        Reporte.texto(encabezado, "Respuesta prom", 16);
+        Reporte.texto(encabezado, "Retorno prom", 15);
+        Reporte.texto(encabezado, "Procesos/1000u", 16);
+        Reporte.texto(encabezado, "Despachos", 12);
+        Reporte.texto(encabezado, "Sobrecarga", 18).append('│');
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 90, '┤');
+        for (SimulacionRoundRobin c : corridas) {
+            StringBuilder fila = Reporte.fila().append("│ ");
+            Reporte.texto(fila, c.nombre(), 12);
+            Reporte.texto(fila, String.format("%.2f", (double) c.sumaRespuesta / Math.max(1, c.respuestas)), 16);
+            Reporte.texto(fila, String.format("%.2f", (double) c.sumaRetorno / Math.max(1, c.completados)), 15);
+            Reporte.texto(fila, String.format("%.3f", 1000.0 * c.completados / Math.max(1, c.fin)), 16);
+            Reporte.numero(fila, c.despachos, 12);
+            Reporte.texto(fila, String.format("%.1f", 100.0 * c.despachos * cambioContexto / Math.max(1, c.fin)) + "%", 18).append('│');
+            Reporte.emitir(fila);
+        }
+        
+        SimulacionRoundRobin adaptativo = corridas[fijos.length];
+        Reporte.borde('├', 90, '┤');
+        Reporte.renglon(" Quantum adaptativo: promedio " + String.format("%.2f", (double) adaptativo.sumaQuantum / 
+            Math.max(1, adaptativo.despachos)) + ", " + adaptativo.trazaTamano + " cambios (percentil " + 
+            Math.round(percentil * 100) + ", ventana " + ventana + ", latencia objetivo " + latencia + ")", 88);
+        StringBuilder evolucion = Reporte.auxiliar().append(" Evolución (t → q):");
+        for (int k = 1; k <= 8; k++) {
+            int t = (int) ((long) adaptativo.fin * k / 8);
+            evolucion.append(' ').append(t).append("→").append(adaptativo.quantumEn(t));
+        }
+        Reporte.renglon(evolucion, 88);
+        Reporte.borde('└', 90, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para ejecutar un conjunto de tareas de tiempo real con EDF y con RMS, compartiendo
+    // la CPU con procesos de mejor esfuerzo, y comparar plazos incumplidos, tardanza y holgura.
+    // Es un modelo independiente: cada corrida usa su propio Recurso y no afecta al simulador vivo
+    static void experimentoTiempoReal() {
+        int numTareas = leerEnteroConRango("Número de tareas de tiempo real: ", 1, 200);
+        int utilizacion = leerEnteroConRango("Utilización objetivo del conjunto (%): ", 1, 200);
+        int esporadicas = leerEnteroConRango("Porcentaje de tareas esporádicas: ", 0, 100);
+        System.out.println("Plazos: 1. Iguales al periodo  2. Restringidos (C <= D <= T)");
+        boolean restringidos = leerEnteroConRango("Seleccione una opción: ", 1, 2) == 2;
+        int numMejorEsfuerzo = leerEnteroConRango("Procesos de mejor esfuerzo que comparten la CPU: ", 0, 1_000_000);
+        int horizonte = leerEnteroConRango("Horizonte de simulación (unidades): ", 100, 1_000_000_000);
+        boolean admision = leerEnteroConRango("¿Aplicar control de admisión? (1 = sí, 2 = no): ", 1, 2) == 1;
+        long semilla = leerEnteroConRango("Semilla: ", 1, Integer.MAX_VALUE);
+        
+        // Los procesos de mejor esfuerzo piden en promedio ~40% de la CPU; la carga fuera de
+        // línea empieza en t = 0, igual que el reloj de la simulación
+        GeneradorCarga carga = new GeneradorCarga(semilla);
+        carga.tasaLlegada = 0.05;
+        List<PCB> tareas = carga.tareasTiempoReal(numTareas, utilizacion / 100.0, esporadicas / 100.0, restringidos);
+        PCB[] mejorEsfuerzo = carga.procesos(numMejorEsfuerzo).toArray(PCB[]::new);
+        
+        // Con admisión, la corrida ejecuta exactamente las tareas anotadas en el registro de
+        // reservas de un Recurso propio de la corrida; sin ella, todas las propuestas
+        for (boolean edf : new boolean[] {true, false}) {
+            Recurso cpu = new Recurso();
+            if (admision) {
+                for (PCB tarea : tareas) cpu.admitirTiempoReal(tarea, edf);
+            }
+            SimulacionTiempoReal sim = new SimulacionTiempoReal(admision ? cpu.tareasTiempoReal : tareas, 
+                mejorEsfuerzo, edf, horizonte, semilla);
+            sim.ejecutar();
+            mostrarResultadosTiempoReal(sim, tareas.size(), admision ? cpu : null);
+        }
+    }
+
+    // Método para mostrar los resultados de una corrida de tiempo real; 'reservas' es el
+    // Recurso que aplicó el control de admisión, o null si no se aplicó
+    static void mostrarResultadosTiempoReal(SimulacionTiempoReal sim, int propuestas, Recurso reservas) {
+        double duracion = Math.max(1, sim.horizonte);
+        Reporte.borde('┌', 90, '┐');
+        Reporte.titulo(" TIEMPO REAL - " + sim.nombre() + ": " + sim.tareas.length + " de " + propuestas + 
+            " tareas admitidas", 88);
+        Reporte.borde('├', 90, '┤');
+        Reporte.renglon(" Modelo independiente: el Recurso del simulador no aplica estas reservas", 88);
+        Reporte.renglon(" Utilización de las tareas: " + String.format("%.1f", 100 * AnalisisTiempoReal.utilizacion(
+            Arrays.asList(sim.tareas))) + "% | " + (reservas == null ? "Sin control de admisión" : 
+            "Reservada al admitir: " + String.format("%.1f", 100 * reservas.reservaTiempoReal) + "%, usada: " + 
+            String.format("%.1f", 100.0 * sim.tiempoRT / duracion) + "%"), 88);
+        Reporte.renglon(" Trabajos: " + sim.liberados + " liberados, " + sim.completados + " completados, " + sim.perdidos + 
+            " plazos incumplidos (" + String.format("%.2f", 100.0 * sim.perdidos / Math.max(1, sim.liberados)) + 
+            "%), " + sim.incompletos + " sin terminar", 88);
+        Reporte.renglon(" Retraso promedio (fin - plazo): " + String.format("%.2f", (double) sim.sumaRetraso / 
+            Math.max(1, sim.completados)) + " | Expropiaciones: " + sim.expropiaciones, 88);
+        Reporte.renglon(" Tardanza de los incumplidos: p50 " + sim.tardanza.percentil(0.5) + ", p90 " + 
+            sim.tardanza.percentil(0.9) + ", p99 " + sim.tardanza.percentil(0.99) + ", máx " + sim.tardanza.maximo(), 88);
+        long cumplidos = sim.completados - (sim.perdidos - sim.incompletos);
+        Reporte.renglon(" Holgura de los cumplidos: promedio " + String.format("%.2f", (double) sim.sumaHolgura / 
+            Math.max(1, cumplidos)) + ", mínima " + (cumplidos == 0 ? "N/A" : String.valueOf(sim.holguraMinima)), 88);
+        Reporte.renglon(" CPU usada: tiempo real " + String.format("%.1f", 100 * sim.tiempoRT / duracion) + 
+            "%, mejor esfuerzo " + String.format("%.1f", 100 * sim.tiempoBE / duracion) + 
+            "%, ociosa " + String.format("%.1f", 100 * sim.tiempoOcioso / duracion) + "%", 88);
+        Reporte.renglon(" Mejor esfuerzo: " + sim.completadosBE + " de " + sim.mejorEsfuerzo.length + 
+            " completados, retorno promedio " + String.format("%.2f", (double) sim.sumaRetornoBE / Math.max(1, sim.completadosBE)), 88);
+        
+        Map<Integer, Long> cotas = new HashMap<>();
+        if (!sim.edf) {
+            List<PCB> ordenadas = AnalisisTiempoReal.ordenRateMonotonic(Arrays.asList(sim.tareas));
+            for (int i = 0; i < ordenadas.size(); i++) {
+                cotas.put(ordenadas.get(i).pid, AnalisisTiempoReal.tiempoRespuesta(ordenadas, i));
+            }
+        }
+        Reporte.borde('├', 90, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "PID", 8);
+        Reporte.texto(encabezado, "Tipo", 12);
+        Reporte.texto(encabezado, "C", 8);
+        Reporte.texto(encabezado, "T", 8);
+        Reporte.texto(encabezado, "D", 8);
+        Reporte.texto(encabezado, "Cota RTA", 11);
+        Reporte.texto(encabezado, "Resp. máx", 11);
+        Reporte.texto(encabezado, "Trabajos", 11);
+        Reporte.texto(encabezado, "Perdidos", 12).append('│');
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 90, '┤');
+        for (int i = 0; i < sim.tareas.length; i++) {
+            if (i == Reporte.TAMANO_PAGINA) {
+                Reporte.renglon(" ... y " + (sim.tareas.length - Reporte.TAMANO_PAGINA) + " tareas más", 88);
+                break;
+            }
+            PCB tarea = sim.tareas[i];
+            Long cota = cotas.get(tarea.pid);
+            StringBuilder fila = Reporte.fila().append("│ ");
+            Reporte.numero(fila, tarea.pid, 8);
+            Reporte.texto(fila, tarea.esporadica ? "Esporádica" : "Periódica", 12);
+            Reporte.numero(fila, tarea.tiempoOriginal, 8);
+            Reporte.numero(fila, tarea.periodo, 8);
+            Reporte.numero(fila, tarea.plazoRelativo, 8);
+            Reporte.texto(fila, cota == null ? "-" : cota < 0 ? "> D" : cota.toString(), 11);
+            Reporte.numero(fila, sim.respuestaMaxima[i], 11);
+            Reporte.numero(fila, sim.trabajosPorTarea[i], 11);
+            Reporte.numero(fila, sim.perdidosPorTarea[i], 12).append('│');
+            Reporte.emitir(fila);
+        }
+        Reporte.borde('└', 90, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para simular una situación de interbloqueo
+    static void simularInterbloqueo() {
+        PCB p1 = new PCB(1, 10);
+        PCB p2 = new PCB(2, 15);
+        
+        planificador.agregarProceso(p1);
+        planificador.agregarProceso(p2);
+        
+        if (recurso.solicitar(p1, 200)) {
+            Log.registrar("INTERBLOQUEO", "PID " + p1.pid + " obtuvo CPU y memoria");
+            
+            if (!recurso.solicitar(p2, 300)) {
+                Log.registrar("INTERBLOQUEO", "PID " + p2.pid + " bloqueado esperando CPU");
+            }
+            
+            recurso.liberar(p1);
+        }
+    }
+
+    // Método para avanzar el reloj virtual disparando los temporizadores vencidos
+    static void avanzarReloj(int unidades) {
+        tiempoGlobal += unidades;
+        temporizadores.avanzarHasta(tiempoGlobal);
+    }
+
+    // Método para programar un temporizador relativo al reloj virtual
+    static Temporizador programarTemporizador(int retraso, Runnable accion) {
+        temporizadores.avanzarHasta(tiempoGlobal);
+        return temporizadores.programar(retraso, accion);
+    }
+
+    // Método para leer un entero dentro de un rango específico
+    static int leerEnteroConRango(String mensaje, int min, int max) {
+        while (true) {
+            System.out.print(mensaje);
+            try {
+                int valor = sc.nextInt(); sc.nextLine();
+                if (valor >= min && valor <= max) {
+                    return valor;
+                } else {
+                    System.out.println("Por favor ingresa un valor entre " + min + " y " + max);
+                }
+            } catch (InputMismatchException e) {
+                System.out.println("Por favor ingresa un número válido");
+                sc.nextLine();
+            }
+        }
+    }
+
+    // Método para crear un nuevo proceso
+    static void crearProceso() {
+        int prioridad = leerEnteroConRango("Prioridad (1-10, siendo 1 la más alta): ", 1, 10);
+        int tiempo = leerEnteroConRango("Tiempo de ejecución (unidades): ", 1, 60);
+        PCB p = new PCB(prioridad, tiempo);
+        planificador.agregarProceso(p);
+        Log.registrar("PROCESO", "Proceso creado: PID " + p.pid + ", Prioridad " + p.prioridad + ", Tiempo " + p.tiempoEjecucion);
+    }
+
+    // Método para ejecutar procesos según el algoritmo de planificación
+    static void ejecutarProceso() {
+        List<PCB> procesosFinalizados = new ArrayList<>();
+        List<PCB> procesosListos = new ArrayList<>();
+        
+        for (PCB p : planificador.listaProcesos) {
+            if (p.estado.equals("Listo")) {
+                procesosListos.add(p);
+            }
+        }
+        
+        if (procesosListos.isEmpty()) {
+            Log.registrar("ERROR", "No hay procesos disponibles para ejecutar");
+            return;
+        }
+        
+        // Sin E/S de por medio, cada proceso corre lo que le queda como una sola ráfaga; SJF
+        // ordena por ese tiempo y el quantum adaptativo la observa al terminar
+        for (PCB p : procesosListos) p.duracionRafaga = p.tiempoEjecucion;
+        
+        switch (planificador.algoritmo) {
+            case "FCFS":
+                procesosListos.sort(Comparator.comparingInt(p -> p.tiempoLlegada));
+                break;
+            case "SJF":
+                procesosListos.sort(Comparator.comparingInt((PCB p) -> p.tiempoEjecucion).thenComparingInt(p -> p.pid));
+                break;
+            case "Prioridad":
+                ColaPrioridadO1 colaNiveles = new ColaPrioridadO1(ColaPrioridadO1.NIVELES_POR_DEFECTO);
+                colaNiveles.addAll(procesosListos);
+                procesosListos.clear();
+                for (PCB p = colaNiveles.poll(); p != null; p = colaNiveles.poll()) {
+                    procesosListos.add(p);
+                }
+                break;
+            case "RoundRobin":
+                // Los procesos entran a la cola al llegar; la espera se cuenta desde la llegada
+                List<PCB> porLlegar = new ArrayList<>(procesosListos);
+                porLlegar.sort(Comparator.comparingInt(p -> p.tiempoLlegada));
+                procesosListos.clear();
+                Queue<PCB> colaTemp = new LinkedList<>();
+                int siguienteLlegada = 0;
+                PCB expulsado = null;
+                
+                int ciclosRR = 0;
+                while ((siguienteLlegada < porLlegar.size() || !colaTemp.isEmpty() || expulsado != null) && ciclosRR < 100) {
+                    while (siguienteLlegada < porLlegar.size() && porLlegar.get(siguienteLlegada).tiempoLlegada <= tiempoGlobal) {
+                        PCB llegado = porLlegar.get(siguienteLlegada++);
+                        llegado.tiempoEspera = tiempoGlobal - llegado.tiempoLlegada;
+                        colaTemp.offer(llegado);
+                    }
+                    // Quien llegó durante la porción se forma antes que el proceso expulsado
+                    if (expulsado != null) {
+                        colaTemp.offer(expulsado);
+                        expulsado = null;
+                    }
+                    if (colaTemp.isEmpty()) {
+                        avanzarReloj(porLlegar.get(siguienteLlegada).tiempoLlegada - tiempoGlobal);
+                        continue;
+                    }
+                    PCB p = colaTemp.poll();
+                    Metricas.global.decisionesPlanificador.incrementAndGet();
+                    EventoDespacho.registrar(p.pid, planificador.algoritmo, colaTemp.size());
+                    
+                    int tiempoEjecucion = Math.min(p.tiempoEjecucion, planificador.quantumPara(colaTemp.size() + 1));
+                    
+                    for (PCB esperando : colaTemp) {
+                        esperando.tiempoEspera += tiempoEjecucion;
+                    }
+                    
+                    avanzarReloj(tiempoEjecucion);
+                    p.tiempoEjecucion -= tiempoEjecucion;
+                    
+                    if (p.tiempoEjecucion <= 0) {
+                        p.tiempoFinalizacion = tiempoGlobal;
+                        p.tiempoRetorno = p.tiempoFinalizacion - p.tiempoLlegada;
+                        planificador.observarRafaga(p.duracionRafaga);
+                        p.terminar(CausaTerminacion.NORMAL);
+                        procesosFinalizados.add(p);
+                    } else {
+                        expulsado = p;
+                    }
+                    
+                    ciclosRR++;
+                }
+                
+                break;
+        }
+        
+        if (!planificador.algoritmo.equals("RoundRobin")) {
+            while (!procesosListos.isEmpty()) {
+                // Se despacha el primero, en el orden del algoritmo, que ya llegó; si ninguno
+                // ha llegado la CPU queda ociosa hasta la siguiente llegada
+                int elegido = -1;
+                int proximaLlegada = Integer.MAX_VALUE;
+                for (int i = 0; i < procesosListos.size() && elegido < 0; i++) {
+                    int llegada = procesosListos.get(i).tiempoLlegada;
+                    if (llegada <= tiempoGlobal) elegido = i;
+                    else proximaLlegada = Math.min(proximaLlegada, llegada);
+                }
+                if (elegido < 0) {
+                    avanzarReloj(proximaLlegada - tiempoGlobal);
+                    continue;
+                }
+                PCB p = procesosListos.remove(elegido);
+                Metricas.global.decisionesPlanificador.incrementAndGet();
+                EventoDespacho.registrar(p.pid, planificador.algoritmo, procesosListos.size());
+                p.tiempoEspera = tiempoGlobal - p.tiempoLlegada;
+                
+                avanzarReloj(p.tiempoEjecucion);
+                
+                p.tiempoFinalizacion = tiempoGlobal;
+                p.tiempoRetorno = p.tiempoFinalizacion - p.tiempoLlegada;
+                
+                p.terminar(CausaTerminacion.NORMAL);
+                
+                procesosFinalizados.add(p);
+            }
+        }
+        
+        System.out.println("\n┌" + "─".repeat(105) + "┐");
+        System.out.println("│" + String.format("%-103s", " RESULTADOS DE EJECUCIÓN - ALGORITMO: " + planificador.algoritmo) + "  │");
+        System.out.println("├" + "─".repeat(105) + "┤");
+        
+        System.out.println("│ " + String.format("%-6s %-10s %-10s %-10s %-20s %-20s %-21s", 
+                "PID", "Llegada", "Ciclos", "Prioridad", "Tiempo Finalización", "Tiempo Espera", "Tiempo Retorno") + "│");
+        System.out.println("├" + "─".repeat(105) + "┤");
+        
+        int totalEspera = 0;
+        int totalRetorno = 0;
+        
+        for (PCB p : procesosFinalizados) {
+            System.out.println("│ " + String.format("%-6d %-10d %-10d %-10d %-20d %-20d %-21d", 
+                    p.pid, p.tiempoLlegada, p.tiempoOriginal, p.prioridad, 
+                    p.tiempoFinalizacion, p.tiempoEspera, p.tiempoRetorno) + "│");
+                    
+            totalEspera += p.tiempoEspera;
+            totalRetorno += p.tiempoRetorno;
+        }
+        
+        System.out.println("├" + "─".repeat(105) + "┤");
+        
+        double promedioEspera = procesosFinalizados.isEmpty() ? 0 : (double) totalEspera / procesosFinalizados.size();
+        double promedioRetorno = procesosFinalizados.isEmpty() ? 0 : (double) totalRetorno / procesosFinalizados.size();
+        
+        System.out.println("│ " + String.format("%-103s", " RESUMEN DE TIEMPOS") + "  │");
+        System.out.println("│ " + String.format("%-103s", " Tiempo de espera promedio: " + String.format("%.2f", promedioEspera) + " unidades") + "  │");
+        System.out.println("│ " + String.format("%-103s", " Tiempo de retorno promedio: " + String.format("%.2f", promedioRetorno) + " unidades") + "  │");
+        System.out.println("└" + "─".repeat(105) + "┘");
+        
+        Log.registrar("PLANIFICADOR", "Ejecución completada para " + procesosFinalizados.size() + " procesos con algoritmo " + planificador.algoritmo);
+    }
+
+    // Método para ejecutar los procesos listos alternando ráfagas de CPU y de E/S en disco
+    static void ejecutarConES() {
+        planificador.actualizarColas();
+        if (planificador.colaActiva().isEmpty()) {
+            Log.registrar("ERROR", "No hay procesos disponibles para ejecutar");
+            return;
+        }
+        
+        System.out.println("\nPolítica de planificación del disco:");
+        PoliticaDisco[] politicas = PoliticaDisco.values();
+        for (int i = 0; i < politicas.length; i++) {
+            System.out.println((i + 1) + ". " + politicas[i]);
+        }
+        PoliticaDisco politica = politicas[leerEnteroConRango("Seleccione una opción: ", 1, politicas.length) - 1];
+        int maxOperaciones = leerEnteroConRango("Máximo de operaciones de E/S por proceso (0-10): ", 0, 10);
+        long semilla = leerEnteroConRango("Semilla: ", 1, Integer.MAX_VALUE);
+        
+        SimulacionES simulacion = new SimulacionES(planificador, new DispositivoES("Disco", 200, politica), semilla);
+        simulacion.ejecutar(maxOperaciones);
+        simulacion.mostrarResultados();
+        Log.registrar("PLANIFICADOR", "Ejecución con E/S completada para " + simulacion.finalizados.size() + 
+                     " procesos con algoritmo " + planificador.algoritmo);
+    }
+
+    // Método para dormir procesos, esperar con límite de tiempo y avanzar el reloj virtual
+    static void gestionarTemporizadores() {
+        System.out.println("\n====== TEMPORIZADORES (tiempo actual: " + tiempoGlobal + ", pendientes: " + 
+                           temporizadores.pendientes() + ") ======");
+        System.out.println("1. Dormir un proceso");
+        System.out.println("2. Solicitar recursos con tiempo límite");
+        System.out.println("3. Esperar un mensaje con tiempo límite");
+        System.out.println("4. Avanzar el reloj");
+        
+        int op = leerEnteroConRango("Seleccione una opción: ", 1, 4);
+        if (op == 4) {
+            avanzarReloj(leerEnteroConRango("Unidades a avanzar: ", 1, 1_000_000));
+            Log.registrar("SISTEMA", "Reloj avanzado a " + tiempoGlobal);
+            return;
+        }
+        
+        int pid = leerEnteroConRango("PID: ", 1, Integer.MAX_VALUE);
+        PCB p = planificador.buscarProceso(pid);
+        if (p == null) {
+            Log.registrar("ERROR", "PID " + pid + " no encontrado");
+            return;
+        }
+        if (!p.estado.equals("Listo")) {
+            Log.registrar("ERROR", "El proceso debe estar listo, estado actual: " + p.estado);
+            return;
+        }
+        
+        switch (op) {
+            case 1:
+                p.dormir(leerEnteroConRango("Unidades a dormir: ", 1, 1_000_000));
+                break;
+            case 2:
+                int memoria = leerEnteroConRango("Memoria requerida (MB): ", 1, 4096);
+                int limite = leerEnteroConRango("Tiempo límite de espera: ", 1, 1_000_000);
+                recurso.solicitar(p, memoria, limite);
+                break;
+            case 3:
+                p.recibirMensaje(leerEnteroConRango("Tiempo límite de espera: ", 1, 1_000_000));
+                break;
+        }
+    }
+
+    // Método para suspender o continuar un proceso
+    static void suspenderContinuar() {
+        int pid = leerEnteroConRango("PID a suspender/reanudar: ", 1, Integer.MAX_VALUE);
+        PCB p = planificador.buscarProceso(pid);
+        if (p != null) {
+            if (p.estado.equals("Listo")) {
+                recurso.suspender(p);
+            } else if (p.estado.equals("Suspendido")) {
+                recurso.reanudar(p);
+            } else if (p.estado.equals("Bloqueado")) {
+                Log.registrar("ERROR", "No se puede suspender un proceso bloqueado");
+            } else {
+                Log.registrar("ERROR", "No se puede suspender/reanudar proceso en estado: " + p.estado);
+            }
+            return;
+        }
+        Log.registrar("ERROR", "PID " + pid + " no encontrado");
+    }
+
+    // Método para mostrar el área de intercambio y elegir la política de suspensión
+    static void configurarIntercambio() {
+        AreaIntercambio area = recurso.areaIntercambio();
+        if (area == null) return;
+        
+        Reporte.borde('┌', 70, '┐');
+        Reporte.titulo(" ÁREA DE INTERCAMBIO", 68);
+        Reporte.borde('├', 70, '┤');
+        Reporte.renglonCerrado(" Archivo: " + area.ruta.getFileName(), 68);
+        Reporte.renglonCerrado(" En uso: " + area.mbEnUso() + "MB de " + area.capacidadMB + "MB (" + area.procesos() + " procesos)", 68);
+        Reporte.renglonCerrado(" Expulsiones: " + Metricas.global.intercambiosSalida.get() + " | Reingresos: " + 
+            Metricas.global.intercambiosEntrada.get() + " | Esperando memoria: " + recurso.esperandoReingreso.size(), 68);
+        Reporte.renglonCerrado(" Latencia de reingreso (virtual): promedio " + Metricas.global.latenciaReingreso.promedio() + 
+            ", máx " + Metricas.global.latenciaReingreso.maximo(), 68);
+        Reporte.renglonCerrado(" Copia en el archivo mapeado: promedio " + area.nsCopia.promedio() / 1000 + " µs, máx " + 
+            area.nsCopia.maximo() / 1000 + " µs", 68);
+        Reporte.renglonCerrado(" Política actual: " + recurso.politicaIntercambio, 68);
+        Reporte.borde('└', 70, '┘');
+        Reporte.vaciar();
+        
+        PoliticaIntercambio[] politicas = PoliticaIntercambio.values();
+        System.out.println("\nPolítica de suspensión:");
+        for (int i = 0; i < politicas.length; i++) {
+            System.out.println((i + 1) + ". " + politicas[i]);
+        }
+        recurso.politicaIntercambio = politicas[leerEnteroConRango("Seleccione una opción: ", 1, politicas.length) - 1];
+        Log.registrar("INTERCAMBIO", "Política: " + recurso.politicaIntercambio);
+    }
+
+    // Método para bifurcar procesos, escribir en sus páginas y mapear regiones compartidas
+    static void gestionarMemoriaCompartida() {
+        System.out.println("\n====== FORK Y MEMORIA COMPARTIDA (" + recurso.marcos.mbEnUso() + "MB únicos, " + 
+                           recurso.memoriaDisponible + "MB libres) ======");
+        System.out.println("1. Bifurcar un proceso (fork)");
+        System.out.println("2. Escribir en páginas de un proceso");
+        System.out.println("3. Mapear una región compartida de solo lectura");
+        System.out.println("4. Mapa de memoria por proceso");
+        System.out.println("5. Experimento: servidor con preforking");
+        
+        int op = leerEnteroConRango("Seleccione una opción: ", 1, 5);
+        if (op == 4) {
+            mostrarMapaMemoria();
+            return;
+        }
+        if (op == 5) {
+            experimentoPrefork();
+            return;
+        }
+        
+        int pid = leerEnteroConRango("PID: ", 1, Integer.MAX_VALUE);
+        PCB p = planificador.buscarProceso(pid);
+        if (p == null || p.estado.equals("Terminado")) {
+            Log.registrar("ERROR", "PID " + pid + " no encontrado");
+            return;
+        }
+        
+        switch (op) {
+            case 1:
+                PCB hijo = recurso.bifurcar(p);
+                if (hijo != null) planificador.agregarProceso(hijo);
+                break;
+            case 2:
+                if (!recurso.marcos.tieneEspacio(pid) || recurso.marcos.paginas(pid) == 0) {
+                    Log.registrar("ERROR", "PID " + pid + " no tiene páginas mapeadas");
+                    return;
+                }
+                int paginas = recurso.marcos.paginas(pid);
+                int desde = leerEnteroConRango("Primera página (0-" + (paginas - 1) + "): ", 0, paginas - 1);
+                int cantidad = leerEnteroConRango("Cantidad de páginas: ", 1, paginas - desde);
+                recurso.escribirMemoria(p, desde, cantidad);
+                break;
+            case 3:
+                System.out.print("Nombre de la región: ");
+                String nombre = sc.nextLine().trim();
+                if (nombre.isEmpty()) {
+                    Log.registrar("ERROR", "El nombre de la región no puede estar vacío");
+                    return;
+                }
+                int mb = recurso.marcos.existeRegion(nombre) ? 0 : leerEnteroConRango("Tamaño (MB): ", 1, 4096);
+                recurso.mapearCompartida(p, nombre, mb);
+                break;
+        }
+    }
+
+    // Método para mostrar la huella de memoria real de cada proceso
+    static void mostrarMapaMemoria() {
+        TablaMarcos marcos = recurso.marcos;
+        int mapeados = 0;
+        Reporte.borde('┌', 90, '┐');
+        Reporte.titulo(" MAPA DE MEMORIA (marcos de " + TablaMarcos.MB_POR_MARCO + "MB)", 88);
+        Reporte.borde('├', 90, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "PID", 7);
+        Reporte.texto(encabezado, "Padre", 7);
+        Reporte.texto(encabezado, "Páginas", 9);
+        Reporte.texto(encabezado, "Mapeada MB", 12);
+        Reporte.texto(encabezado, "Única MB", 10);
+        Reporte.texto(encabezado, "Proporcional MB", 17);
+        Reporte.texto(encabezado, "Compartida MB", 15);
+        Reporte.texto(encabezado, "Fallos", 12).append('│');
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 90, '┤');
+        for (PCB p : planificador.listaProcesos) {
+            if (!marcos.tieneEspacio(p.pid)) continue;
+            int mapeada = marcos.mbMapeados(p.pid);
+            int unica = marcos.mbUnicos(p.pid);
+            mapeados += mapeada;
+            StringBuilder fila = Reporte.fila().append("│ ");
+            Reporte.numero(fila, p.pid, 7);
+            Reporte.texto(fila, p.pidPadre > 0 ? String.valueOf(p.pidPadre) : "-", 7);
+            Reporte.numero(fila, marcos.paginas(p.pid), 9);
+            Reporte.numero(fila, mapeada, 12);
+            Reporte.numero(fila, unica, 10);
+            Reporte.decimal(fila, marcos.mbProporcionales(p.pid), 1, 17);
+            Reporte.numero(fila, mapeada - unica, 15);
+            Reporte.numero(fila, marcos.fallosCopia(p.pid), 12).append('│');
+            Reporte.emitir(fila);
+        }
+        Reporte.borde('├', 90, '┤');
+        Reporte.renglon(" Huella real: " + marcos.mbEnUso() + "MB | Suma de huellas mapeadas: " + mapeados + 
+            "MB | Ahorro por compartir: " + Math.max(0, mapeados - marcos.mbEnUso()) + "MB", 88);
+        Reporte.borde('└', 90, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para medir la huella de un servidor con preforking: un maestro con código de solo
+    // lectura y un montículo escribible bifurca trabajadores que escriben parte de sus páginas
+    static void experimentoPrefork() {
+        int trabajadores = leerEnteroConRango("Número de trabajadores: ", 1, 1024);
+        int monticulo = leerEnteroConRango("Montículo del maestro (MB): ", 4, 4096);
+        int codigo = leerEnteroConRango("Código y bibliotecas compartidas (MB): ", 0, 4096);
+        long semilla = leerEnteroConRango("Semilla: ", 1, Integer.MAX_VALUE);
+        
+        int[] porcentajes = {0, 5, 10, 25, 50, 100};
+        long ingenua = (long) (trabajadores + 1) * (monticulo + codigo);
+        Reporte.borde('┌', 90, '┐');
+        Reporte.titulo(" SERVIDOR CON PREFORKING - " + trabajadores + " trabajadores, " + monticulo + "MB de montículo, " + 
+            codigo + "MB de código", 88);
+        Reporte.renglonCerrado(" Sin compartir (cada proceso con su copia): " + ingenua + "MB", 88);
+        Reporte.borde('├', 90, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "% escrito", 11);
+        Reporte.texto(encabezado, "Huella real MB", 16);
+        Reporte.texto(encabezado, "Ahorro", 10);
+        Reporte.texto(encabezado, "Proporcional/trab MB", 22);
+        Reporte.texto(encabezado, "Fallos de copia", 17);
+        Reporte.texto(encabezado, "Fork µs", 12).append('│');
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 90, '┤');
+        for (int porcentaje : porcentajes) {
+            // Cada fila parte de la misma semilla para comparar solo el efecto de la escritura
+            Random random = new Random(semilla);
+            TablaMarcos marcos = new TablaMarcos();
+            marcos.reservar(0, monticulo);
+            if (codigo > 0) marcos.mapearRegion(0, "codigo", codigo);
+            int paginasMonticulo = (monticulo + TablaMarcos.MB_POR_MARCO - 1) / TablaMarcos.MB_POR_MARCO;
+            
+            long fallos = 0;
+            long inicio = System.nanoTime();
+            for (int t = 1; t <= trabajadores; t++) marcos.bifurcar(0, t);
+            long nsFork = System.nanoTime() - inicio;
+            for (int t = 1; t <= trabajadores; t++) {
+                for (int pagina = 0; pagina < paginasMonticulo; pagina++) {
+                    if (random.nextInt(100) < porcentaje) fallos += marcos.escribir(t, pagina, 1);
+                }
+            }
+            double proporcional = 0;
+            for (int t = 1; t <= trabajadores; t++) proporcional += marcos.mbProporcionales(t);
+            
+            StringBuilder fila = Reporte.fila().append("│ ");
+            Reporte.porcentaje(fila, porcentaje, 0, 11);
+            Reporte.numero(fila, marcos.mbEnUso(), 16);
+            Reporte.porcentaje(fila, 100.0 * (ingenua - marcos.mbEnUso()) / ingenua, 1, 10);
+            Reporte.decimal(fila, proporcional / trabajadores, 1, 22);
+            Reporte.numero(fila, fallos, 17);
+            Reporte.decimal(fila, nsFork / 1000.0 / trabajadores, 1, 12).append('│');
+            Reporte.emitir(fila);
+        }
+        Reporte.borde('├', 90, '┤');
+        Reporte.renglon(" La huella real cuenta cada marco una vez; la proporcional reparte los marcos compartidos", 88);
+        Reporte.borde('└', 90, '┘');
+        Reporte.vaciar();
+        Log.registrar("RECURSO", "Experimento de preforking con " + trabajadores + " trabajadores completado");
+    }
+
+    // Método para medir el rendimiento que se pierde por mala ubicación en una máquina NUMA;
+    // cada corrida se compara con la misma ubicación sin penalización remota ni migraciones
+    static void experimentoNUMA() {
+        int cantidad = leerEnteroConRango("Número de procesos: ", 1, 100_000);
+        int numNodos = leerEnteroConRango("Nodos NUMA: ", 1, 8);
+        int cpus = leerEnteroConRango("CPUs por nodo: ", 1, 16);
+        int mbPorNodo = leerEnteroConRango("Memoria por nodo (MB): ", 256, 1_048_576);
+        int penalizacion = leerEnteroConRango("Penalización por acceso remoto (%): ", 0, 300);
+        int migracion = leerEnteroConRango("Costo de migrar un proceso entre nodos (unidades): ", 0, 100);
+        int quantum = leerEnteroConRango("Quantum para Round Robin (en unidades): ", 1, 100);
+        long semilla = leerEnteroConRango("Semilla: ", 1, Integer.MAX_VALUE);
+        GeneradorCarga carga = configurarCarga(semilla);
+        PCB[] procesos = carga.procesos(cantidad).toArray(PCB[]::new);
+        
+        String[] algoritmos = {"FCFS", "SJF", "RoundRobin", "Prioridad"};
+        PoliticaUbicacion[] politicas = PoliticaUbicacion.values();
+        
+        Reporte.borde('┌', 120, '┐');
+        Reporte.titulo(" NUMA - " + numNodos + " nodos × " + cpus + " CPUs × " + mbPorNodo + "MB, penalización remota " + 
+            penalizacion + "%, migración " + migracion + " u, " + procesos.length + " procesos", 118);
+        Reporte.borde('├', 120, '┤');
+        StringBuilder encabezado = Reporte.fila().append("│ ");
+        Reporte.texto(encabezado, "Algoritmo", 11);
+        Reporte.texto(encabezado, "Ubicación", 14);
+        Reporte.texto(encabezado, "Procesos/1000u", 15);
+        Reporte.texto(encabezado, "Retorno prom", 13);
+        Reporte.texto(encabezado, "Retorno ideal", 14);
+        Reporte.texto(encabezado, "CPU perdida", 12);
+        Reporte.texto(encabezado, "Acceso remoto", 14);
+        Reporte.texto(encabezado, "Migraciones", 12);
+        Reporte.texto(encabezado, "MB migrados", 14).append('│');
+        Reporte.emitir(encabezado);
+        Reporte.borde('├', 120, '┤');
+        
+        List<String> mejores = new ArrayList<>();
+        for (String algoritmo : algoritmos) {
+            PoliticaUbicacion mejor = null;
+            double menorPerdida = Double.MAX_VALUE;
+            double mayorPerdida = 0;
+            for (PoliticaUbicacion politica : politicas) {
+                SimulacionNUMA real = new SimulacionNUMA(procesos, algoritmo, politica, quantum, numNodos, cpus, mbPorNodo, 
+                    penalizacion, migracion);
+                SimulacionNUMA ideal = new SimulacionNUMA(procesos, algoritmo, politica, quantum, numNodos, cpus, mbPorNodo, 0, 0);
+                real.ejecutar();
+                ideal.ejecutar();
+                // Fracción del tiempo de CPU que se va en accesos remotos y migraciones: es el
+                // rendimiento que se pierde cuando la máquina está saturada
+                double perdida = 100.0 * real.tiempoPerdido / Math.max(1, real.tiempoUtil + real.tiempoPerdido);
+                if (perdida < menorPerdida) {
+                    menorPerdida = perdida;
+                    mejor = politica;
+                }
+                mayorPerdida = Math.max(mayorPerdida, perdida);
+                
+                StringBuilder fila = Reporte.fila().append("│ ");
+                Reporte.texto(fila, algoritmo, 11);
+                Reporte.texto(fila, politica.toString(), 14);
+                Reporte.texto(fila, String.format("%.3f", real.rendimiento()), 15);
+                Reporte.texto(fila, String.format("%.2f", (double) real.sumaRetorno / procesos.length), 13);
+                Reporte.texto(fila, String.format("%.2f", (double) ideal.sumaRetorno / procesos.length), 14);
+                Reporte.texto(fila, String.format("%.1f%%", perdida), 12);
+                Reporte.texto(fila, String.format("%.1f%%", 100.0 * real.sumaRemoto / Math.max(1, real.tiempoUtil)), 14);
+                Reporte.numero(fila, real.migraciones, 12);
+                Reporte.numero(fila, real.mbMigrados, 14).append('│');
+                Reporte.emitir(fila);
+            }
+            mejores.add(" " + algoritmo + ": mejor " + mejor + String.format(" (%.1f%% de CPU perdida; la peor pierde %.1f%%)", 
+                menorPerdida, mayorPerdida));
+        }
+        Reporte.borde('├', 120, '┤');
+        Reporte.renglon(" Ideal: la misma ubicación con memoria uniforme (sin penalización remota ni costo de migración)", 118);
+        for (String linea : mejores) Reporte.renglon(linea, 118);
+        Reporte.borde('└', 120, '┘');
+        Reporte.vaciar();
+        Log.registrar("PLANIFICADOR", "Experimento NUMA con " + procesos.length + " procesos en " + numNodos + " nodos completado");
+    }
+
+    // Método para terminar un proceso
+    static void terminarProceso() {
+        int pid = leerEnteroConRango("PID a terminar: ", 1, Integer.MAX_VALUE);
+        PCB p = planificador.buscarProceso(pid);
+        if ((p != null && p.estado.equals("Terminado")) || (p == null && planificador.archivo.indice(pid) >= 0)) {
+            Log.registrar("ERROR", "El proceso " + pid + " ya está terminado");
+            return;
+        }
+        if (p != null) {
+            recurso.liberar(p);
+            p.terminar(CausaTerminacion.USUARIO);
+            Log.registrar("PROCESO", "Proceso " + p.pid + " terminado por usuario");
+            return;
+        }
+        Log.registrar("ERROR", "PID " + pid + " no encontrado");
+    }
+
+    // Método para listar procesos con filtro, top-N y paginación
+    static void listarProcesos() {
+        System.out.println("\n¿Qué procesos desea listar?");
+        System.out.println("1. Todos");
+        System.out.println("2. Filtrar por estado");
+        System.out.println("3. Filtrar por rango de PID");
+        System.out.println("4. Primeros N procesos");
+        System.out.println("5. Consultar un proceso terminado archivado");
+        
+        FiltroProcesos filtro = new FiltroProcesos();
+        switch (leerEnteroConRango("Seleccione una opción: ", 1, 5)) {
+            case 2:
+                String[] estados = {"Listo", "Ejecutando", "Bloqueado", "Suspendido", "Dormido", "Terminado"};
+                for (int i = 0; i < estados.length; i++) {
+                    System.out.println((i + 1) + ". " + estados[i]);
+                }
+                filtro.estado = estados[leerEnteroConRango("Estado: ", 1, estados.length) - 1];
+                break;
+            case 3:
+                filtro.pidMin = leerEnteroConRango("PID inicial: ", 1, Integer.MAX_VALUE);
+                filtro.pidMax = leerEnteroConRango("PID final: ", filtro.pidMin, Integer.MAX_VALUE);
+                break;
+            case 4:
+                filtro.limite = leerEnteroConRango("Cantidad de procesos (N): ", 1, Integer.MAX_VALUE);
+                break;
+            case 5:
+                int pid = leerEnteroConRango("PID: ", 1, Integer.MAX_VALUE);
+                if (!planificador.archivo.mostrarDetalle(pid)) {
+                    Log.registrar("ERROR", "PID " + pid + " no está en el archivo de terminados");
+                }
+                return;
+        }
+        
+        int total = planificador.listaProcesos.size() + planificador.terminadosRecientes.size();
+        if (Math.min(total, filtro.limite) > filtro.tamanoPagina) {
+            int paginas = (Math.min(total, filtro.limite) + filtro.tamanoPagina - 1) / filtro.tamanoPagina;
+            filtro.pagina = leerEnteroConRango("Página (1-" + paginas + ", " + filtro.tamanoPagina + " procesos por página): ", 1, paginas);
+        }
+        planificador.mostrarProcesos(filtro);
+    }
+
+    // Método para mostrar el estado de los recursos
+    static void mostrarEstadoRecursos() {
+        Reporte.borde('┌', 70, '┐');
+        Reporte.titulo(" ESTADO DE RECURSOS", 68);
+        Reporte.borde('├', 70, '┤');
+        Reporte.emitir(Reporte.numero(Reporte.fila().append("│ Memoria disponible: "), recurso.memoriaDisponible, 27).append("MB│"));
+        Reporte.emitir(Reporte.texto(Reporte.fila().append("│ CPU disponible:     "), recurso.cpuDisponible ? "Sí" : "No", 27).append("  │"));
+        
+        if (!recurso.memoriaAsignadaPorProceso.isEmpty()) {
+            Reporte.borde('├', 70, '┤');
+            Reporte.renglonCerrado(" MEMORIA ASIGNADA A PROCESOS:", 68);
+            int mostrados = 0;
+            for (Map.Entry<Integer, Integer> entry : recurso.memoriaAsignadaPorProceso.entrySet()) {
+                if (mostrados++ == Reporte.TAMANO_PAGINA) {
+                    Reporte.renglonCerrado(" ... y " + (recurso.memoriaAsignadaPorProceso.size() - Reporte.TAMANO_PAGINA) + " procesos más", 68);
+                    break;
+                }
+                Reporte.renglonCerrado(Reporte.auxiliar().append(" PID ").append(entry.getKey().intValue())
+                    .append(": ").append(entry.getValue().intValue()).append("MB"), 68);
+            }
+        }
+        
+        if (!recurso.recursosEsperados.isEmpty()) {
+            Reporte.borde('├', 70, '┤');
+            Reporte.renglonCerrado(" PROCESOS ESPERANDO RECURSOS:", 68);
+            
+            int mostrados = 0;
+            for (Map.Entry<Integer, List<String>> entry : recurso.recursosEsperados.entrySet()) {
+                if (mostrados++ == Reporte.TAMANO_PAGINA) {
+                    Reporte.renglonCerrado(" ... y " + (recurso.recursosEsperados.size() - Reporte.TAMANO_PAGINA) + " procesos más", 68);
+                    break;
+                }
+                StringBuilder sb = Reporte.auxiliar().append(" PID ").append(entry.getKey().intValue()).append(": ");
+                int inicio = sb.length();
+                Reporte.recortar(Reporte.unir(sb, entry.getValue()), inicio, 50, 47);
+                Reporte.renglonCerrado(sb, 68);
+            }
+        }
+        
+        Reporte.borde('└', 70, '┘');
+        Reporte.vaciar();
+    }
+    
+    // Método para mostrar los procesos bloqueados
+    static void mostrarProcesosBloqueados() {
+        Reporte.borde('┌', 70, '┐');
+        Reporte.titulo(" PROCESOS BLOQUEADOS", 68);
+        Reporte.borde('├', 70, '┤');
+        
+        int bloqueados = 0;
+        for (PCB p : planificador.listaProcesos) {
+            if (p.estado.equals("Bloqueado")) {
+                if (bloqueados++ >= Reporte.TAMANO_PAGINA) continue;
+                StringBuilder sb = Reporte.auxiliar().append(" PID ").append(p.pid).append(": esperando ");
+                int inicio = sb.length();
+                Reporte.recortar(Reporte.unir(sb, p.recursosEsperados), inicio, 50, 47);
+                Reporte.renglonCerrado(sb, 68);
+            }
+        }
+        
+        if (bloqueados == 0) {
+            Reporte.titulo(" No hay procesos bloqueados", 68);
+        } else if (bloqueados > Reporte.TAMANO_PAGINA) {
+            Reporte.renglonCerrado(" ... y " + (bloqueados - Reporte.TAMANO_PAGINA) + " procesos bloqueados más", 68);
+        }
+        Reporte.borde('└', 70, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para enviar un mensaje entre procesos
+    static void enviarMensaje() {
+        int pidOrigen = leerEnteroConRango("PID del proceso remitente: ", 1, Integer.MAX_VALUE);
+        int pidDestino = leerEnteroConRango("PID del proceso destinatario: ", 1, Integer.MAX_VALUE);
+        
+        System.out.println("\nSeleccione un mensaje o escriba uno personalizado:");
+        System.out.println("0. Mensaje personalizado");
+        for (int i = 0; i < MENSAJES_PREDEFINIDOS.length; i++) {
+            System.out.println((i+1) + ". " + MENSAJES_PREDEFINIDOS[i]);
+        }
+        
+        int opMensaje = leerEnteroConRango("Opción: ", 0, MENSAJES_PREDEFINIDOS.length);
+        String mensaje;
+        
+        if (opMensaje == 0) {
+            System.out.print("Escriba su mensaje: ");
+            mensaje = sc.nextLine();
+        } else {
+            mensaje = MENSAJES_PREDEFINIDOS[opMensaje-1];
+        }
+        
+        PCB origen = planificador.buscarProceso(pidOrigen);
+        
+        if (origen != null) {
+            origen.enviarMensaje(pidDestino, mensaje);
+        } else {
+            Log.registrar("ERROR", "PID de origen " + pidOrigen + " no encontrado");
+        }
+    }
+
+    // Método para leer los mensajes de un proceso
+    static void leerMensajes() {
+        int pid = leerEnteroConRango("PID del proceso para leer mensajes: ", 1, Integer.MAX_VALUE);
+        
+        PCB p = planificador.buscarProceso(pid);
+        if (p != null) {
+            p.leerMensajes();
+            return;
+        }
+        Log.registrar("ERROR", "PID " + pid + " no encontrado");
+    }
+
+    // Método para medir el rendimiento de un pipeline productor-consumidor con operaciones por lotes
+    static void experimentoProdCons() {
+        int capacidad = leerEnteroConRango("Capacidad del buffer: ", 1, 1_000_000);
+        int productores = leerEnteroConRango("Número de productores: ", 1, 64);
+        int consumidores = leerEnteroConRango("Número de consumidores: ", 1, 64);
+        int total = leerEnteroConRango("Total de elementos a producir: ", 1, 500_000_000);
+        int lote = leerEnteroConRango("Tamaño de lote (1 = elemento por elemento): ", 1, capacidad);
+        int tasaProduccion = leerEnteroConRango("Tasa por productor (elementos/s, 0 = sin límite): ", 0, Integer.MAX_VALUE);
+        int tasaConsumo = leerEnteroConRango("Tasa por consumidor (elementos/s, 0 = sin límite): ", 0, Integer.MAX_VALUE);
+        
+        Buffer buffer = new Buffer(capacidad);
+        AtomicLong consumidos = new AtomicLong();
+        List<Thread> hilos = new ArrayList<>();
+        
+        for (int h = 0; h < productores; h++) {
+            int cuota = total / productores + (h < total % productores ? 1 : 0);
+            int base = h;
+            hilos.add(new Thread(() -> {
+                try {
+                    int[] items = new int[lote];
+                    long siguiente = System.nanoTime();
+                    for (int producidos = 0; producidos < cuota; ) {
+                        int n = Math.min(lote, cuota - producidos);
+                        for (int i = 0; i < n; i++) items[i] = base + (producidos + i) * productores;
+                        buffer.producirLote(items, 0, n);
+                        producidos += n;
+                        siguiente = pausarHasta(siguiente, n, tasaProduccion);
+                    }
+                } catch (InterruptedException e) {
+                    Log.registrar("ERROR", "Productor interrumpido: " + e.getMessage());
+                    Thread.currentThread().interrupt();
+                }
+            }, "productor-" + h));
+        }
+        for (int h = 0; h < consumidores; h++) {
+            hilos.add(new Thread(() -> {
+                try {
+                    int[] destino = new int[lote];
+                    long siguiente = System.nanoTime();
+                    while (consumidos.get() < total) {
+                        int n = buffer.drenar(destino, lote, 10_000_000L);
+                        if (n == 0) continue;
+                        consumidos.addAndGet(n);
+                        siguiente = pausarHasta(siguiente, n, tasaConsumo);
+                    }
+                } catch (InterruptedException e) {
+                    Log.registrar("ERROR", "Consumidor interrumpido: " + e.getMessage());
+                    Thread.currentThread().interrupt();
+                }
+            }, "consumidor-" + h));
+        }
+        
+        Log.registrar("DEMO", "Experimento iniciado: " + productores + " productores, " + consumidores + 
+                     " consumidores, lote " + lote + ", buffer " + capacidad);
+        long inicio = System.nanoTime();
+        hilos.forEach(Thread::start);
+        try {
+            for (Thread hilo : hilos) hilo.join();
+        } catch (InterruptedException e) {
+            Log.registrar("ERROR", "Hilo principal interrumpido mientras esperaba el experimento: " + e.getMessage());
+            Thread.currentThread().interrupt();
+            hilos.forEach(Thread::interrupt);
+            return;
+        }
+        long duracionNs = Math.max(1, System.nanoTime() - inicio);
+        
+        Reporte.borde('┌', 70, '┐');
+        Reporte.titulo(" EXPERIMENTO PRODUCTOR-CONSUMIDOR", 68);
+        Reporte.borde('├', 70, '┤');
+        Reporte.renglonCerrado(" Elementos consumidos: " + consumidos.get() + " en " + duracionNs / 1_000_000 + " ms", 68);
+        Reporte.renglonCerrado(" Rendimiento: " + (consumidos.get() * 1_000_000_000L / duracionNs) + " elementos/s", 68);
+        Reporte.renglonCerrado(" Ocupación del buffer: promedio " + buffer.ocupacion.promedio() + ", máxima " + 
+            buffer.ocupacion.maximo() + " de " + capacidad, 68);
+        Reporte.renglonCerrado(" Tiempo bloqueado por buffer lleno: " + buffer.nsBloqueadoLleno.get() / 1_000_000 + " ms", 68);
+        Reporte.renglonCerrado(" Tiempo bloqueado por buffer vacío: " + buffer.nsBloqueadoVacio.get() / 1_000_000 + " ms", 68);
+        Reporte.renglonCerrado(" Latencia extremo a extremo (µs): promedio " + buffer.latencia.promedio() / 1000 + 
+            ", p99 " + buffer.latencia.percentil(0.99) / 1000 + ", máx " + buffer.latencia.maximo() / 1000, 68);
+        Reporte.borde('└', 70, '┘');
+        Reporte.vaciar();
+    }
+
+    // Método para limitar la tasa de un hilo: devuelve el instante en que puede seguir
+    static long pausarHasta(long siguiente, int elementos, int tasa) {
+        if (tasa == 0) return siguiente;
+        siguiente += elementos * 1_000_000_000L / tasa;
+        long restante;
+        while ((restante = siguiente - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+        return siguiente;
+    }
+
+    // Método para ejecutar la demostración del problema productor-consumidor
+    static void ejecutarProdCons() {
+        Buffer buffer = new Buffer();
+        Log.registrar("DEMO", "Iniciando demostración Productor-Consumidor");
+
+        System.out.println("\n¿Qué desea ejecutar?");
+        System.out.println("1. Demostración con valores asignados manualmente");
+        System.out.println("2. Experimento de rendimiento (lotes, productores y consumidores configurables)");
+
+        int opcion = leerEnteroConRango("Seleccione una opción: ", 1, 2);
+        if (opcion == 2) {
+            experimentoProdCons();
+            return;
+        }
+
+        Thread productorThread;
+        Thread consumidorThread;
+
+        productorThread = new Thread(() -> {
+            try {
+                for (int i = 1; i <= 10; i++) {
+                    System.out.print("Hilo Productor: ");
+                    int valor = leerEnteroConRango("Ingrese valor #" + i + " para producir (1-10): ", 1, 10);
+                    buffer.producir(valor);
+                    Thread.sleep(250);
+                }
+                Log.registrar("DEMO", "Productor completado");
+            } catch (InterruptedException e) {
+                Log.registrar("ERROR", "Productor interrumpido: " + e.getMessage());
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                Log.registrar("ERROR", "Error en productor: " + e.getMessage());
+            }
+        });
+
+        consumidorThread = new Thread(() -> {
+            try {
+                for (int i = 1; i <= 10; i++) {
+                    buffer.consumir();
+                    Thread.sleep(400);
+                }
+                Log.registrar("DEMO", "Consumidor completado");
+            } catch (InterruptedException e) {
+                Log.registrar("ERROR", "Consumidor interrumpido: " + e.getMessage());
+                Thread.currentThread().interrupt(); 
+            } catch (Exception e) {
+                Log.registrar("ERROR", "Error en consumidor: " + e.getMessage());
+            }
+        });
+
+        // Registra el inicio de la demostración y lanza los hilos
+        Log.registrar("DEMO", "Demostración iniciada en hilos separados. Esperando finalización...");
+        productorThread.start();
+        consumidorThread.start();
+        
+        // Espera a que ambos hilos terminen antes de continuar
+        try {
+            productorThread.join(); 
+            consumidorThread.join();
+            Log.registrar("DEMO", "Demostración Productor-Consumidor finalizada.");
+        } catch (InterruptedException e) {
+            Log.registrar("ERROR", "Hilo principal interrumpido mientras esperaba a productor/consumidor: " + e.getMessage());
+            Thread.currentThread().interrupt();
+            productorThread.interrupt();
+            consumidorThread.interrupt();
+        }
+    }
+}